@@ -8,11 +8,23 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.swing.*;
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
 @Slf4j
 public class Main {
+    /**
+     * Command line flag starting the HTTP API instead of the Swing GUI.
+     */
+    public static final String HEADLESS_FLAG = "--headless";
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(HEADLESS_FLAG)) {
+            startHeadless(args);
+            return;
+        }
+
         System.setProperty("java.awt.headless", "false");
         System.setProperty("spring.main.web-application-type", "none");
 
@@ -34,4 +46,17 @@ public class Main {
             }
         });
     }
+
+    /**
+     * Serves the order intake API on the embedded web server, without any window.
+     * See {@code application-headless.properties}.
+     */
+    private static void startHeadless(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        log.info("Starting RaPizz in headless mode...");
+
+        SpringApplication application = new SpringApplication(Main.class);
+        application.setAdditionalProfiles("headless");
+        application.run(args);
+    }
 }
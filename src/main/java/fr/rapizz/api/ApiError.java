@@ -0,0 +1,14 @@
+package fr.rapizz.api;
+
+import java.util.List;
+
+/**
+ * Body of a rejected request.
+ *
+ * @param errors Reasons of the rejection, as shown to the operators
+ */
+public record ApiError(List<String> errors) {
+    public static ApiError of(String error) {
+        return new ApiError(List.of(error));
+    }
+}
@@ -0,0 +1,65 @@
+package fr.rapizz.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Restricts the API to the callers holding the key configured by {@code rapizz.api.key}
+ * (environment variable {@code RAPIZZ_API_KEY}), sent in the {@value #HEADER} header.
+ * Every endpoint is covered, reads included: they expose client data.
+ *
+ * <p>The headless mode does not start without a key.</p>
+ */
+@Slf4j
+@Component
+@Profile("headless")
+public class ApiKeyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Api-Key";
+
+    private final byte[] apiKey;
+    private final ObjectMapper objectMapper;
+
+    public ApiKeyFilter(@Value("${rapizz.api.key}") String apiKey, ObjectMapper objectMapper) {
+        if (apiKey.isBlank()) {
+            throw new IllegalStateException("rapizz.api.key must not be blank");
+        }
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        // Constant-time comparison, so that the key cannot be guessed from response times
+        if (key != null && MessageDigest.isEqual(apiKey, key.getBytes(StandardCharsets.UTF_8))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rejected API request {} {} from {}: missing or invalid key",
+                request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiError.of("Clé d'API manquante ou invalide"));
+    }
+}
@@ -0,0 +1,12 @@
+package fr.rapizz.api;
+
+import fr.rapizz.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * @param orderIds Orders to update
+ * @param status   New status of the orders
+ */
+public record BatchStatusUpdate(List<Integer> orderIds, OrderStatus status) {
+}
@@ -0,0 +1,63 @@
+package fr.rapizz.api;
+
+import fr.rapizz.controller.ClientController;
+import fr.rapizz.model.Client;
+import fr.rapizz.service.ClientSearchIndex;
+import fr.rapizz.util.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/clients")
+@Profile("headless")
+@RequiredArgsConstructor
+public class ClientApiController {
+    private final ClientController clientController;
+
+    /**
+     * Lists the clients matching a search, or the first clients without one.
+     *
+     * @return At most {@link ClientSearchIndex#MAX_RESULTS} clients
+     */
+    @GetMapping
+    public List<ClientResource> search(@RequestParam(defaultValue = "") String search) {
+        List<Client> clients = search.isBlank()
+                ? clientController.getClientPages().fetchPage(0, ClientSearchIndex.MAX_RESULTS)
+                : clientController.searchClients(search);
+        return clients.stream()
+                .map(ClientResource::of)
+                .toList();
+    }
+
+    @GetMapping("/{clientId}")
+    public ResponseEntity<ClientResource> getClient(@PathVariable Integer clientId) {
+        return ResponseEntity.of(clientController.getClientById(clientId).map(ClientResource::of));
+    }
+
+    @GetMapping("/by-phone")
+    public ResponseEntity<ClientResource> findByPhone(@RequestParam String number) {
+        return ResponseEntity.of(clientController.findClientByPhone(number).map(ClientResource::of));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createClient(@RequestBody ClientRequest request) {
+        Result<Client> result = clientController.createClient(
+                Objects.requireNonNullElse(request.firstName(), ""),
+                Objects.requireNonNullElse(request.lastName(), ""),
+                Objects.requireNonNullElse(request.address(), ""),
+                Objects.requireNonNullElse(request.phoneNumber(), ""));
+
+        if (result.isFailure()) {
+            return ResponseEntity.badRequest().body(new ApiError(result.getErrors()));
+        }
+        Client client = result.getData();
+        return ResponseEntity.created(URI.create("/api/clients/" + client.getClientId()))
+                .body(ClientResource.of(client));
+    }
+}
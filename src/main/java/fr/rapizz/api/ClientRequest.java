@@ -0,0 +1,12 @@
+package fr.rapizz.api;
+
+/**
+ * Client account opened through the API.
+ *
+ * @param firstName   First name
+ * @param lastName    Last name
+ * @param address     Delivery address
+ * @param phoneNumber Phone number, E.164 format
+ */
+public record ClientRequest(String firstName, String lastName, String address, String phoneNumber) {
+}
@@ -0,0 +1,25 @@
+package fr.rapizz.api;
+
+import fr.rapizz.model.Client;
+
+import java.math.BigDecimal;
+
+/**
+ * Client account, without its orders.
+ *
+ * @param clientId       Identifier of the client
+ * @param firstName      First name
+ * @param lastName       Last name
+ * @param address        Delivery address
+ * @param phoneNumber    Phone number, E.164 format
+ * @param amount         Balance of the account
+ * @param loyaltyCounter Loyalty points
+ */
+public record ClientResource(Integer clientId, String firstName, String lastName, String address,
+                             String phoneNumber, BigDecimal amount, Integer loyaltyCounter) {
+    public static ClientResource of(Client client) {
+        return new ClientResource(client.getClientId(), client.getFirstName(), client.getLastName(),
+                client.getClientAddress(), client.getPhoneNumber(), client.getAmount(),
+                client.getLoyaltyCounter());
+    }
+}
@@ -0,0 +1,38 @@
+package fr.rapizz.api;
+
+import fr.rapizz.controller.MenuController;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/menu")
+@Profile("headless")
+@RequiredArgsConstructor
+public class MenuApiController {
+    private final MenuController menuController;
+
+    @GetMapping
+    public List<PizzaResource> getMenu() {
+        return menuController.getAllPizzas().stream()
+                .map(this::toResource)
+                .toList();
+    }
+
+    private PizzaResource toResource(Pizza pizza) {
+        Map<PizzaSize, BigDecimal> prices = new EnumMap<>(PizzaSize.class);
+        for (PizzaSize size : PizzaSize.values()) {
+            prices.put(size, menuController.calculatePrice(pizza, size));
+        }
+        return new PizzaResource(pizza.getPizzaId(), pizza.getPizzaName(), prices);
+    }
+}
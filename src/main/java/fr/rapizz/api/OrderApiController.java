@@ -0,0 +1,198 @@
+package fr.rapizz.api;
+
+import fr.rapizz.controller.ClientController;
+import fr.rapizz.controller.DeliveryController;
+import fr.rapizz.controller.DriverController;
+import fr.rapizz.controller.MenuController;
+import fr.rapizz.controller.VehicleController;
+import fr.rapizz.dto.OrderView;
+import fr.rapizz.model.*;
+import fr.rapizz.service.Cart;
+import fr.rapizz.service.IllegalStatusChangeException;
+import fr.rapizz.util.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order intake for the phone line and the web partners: orders placed here are charged to the
+ * client balance exactly as from the delivery panel.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/orders")
+@Profile("headless")
+@RequiredArgsConstructor
+public class OrderApiController {
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final DeliveryController deliveryController;
+    private final ClientController clientController;
+    private final DriverController driverController;
+    private final VehicleController vehicleController;
+    private final MenuController menuController;
+
+    /**
+     * Lists the newest orders having one of the given statuses, by default the active ones.
+     */
+    @GetMapping
+    public List<OrderResource> getOrders(@RequestParam(required = false) Set<OrderStatus> status,
+                                         @RequestParam(defaultValue = "50") int limit) {
+        Set<OrderStatus> statuses = status == null || status.isEmpty()
+                ? EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PROGRESS)
+                : status;
+        return deliveryController.getOrdersPage(statuses, null, Math.clamp(limit, 1, MAX_PAGE_SIZE))
+                .items().stream()
+                .map(this::toResource)
+                .toList();
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderResource> getOrder(@PathVariable Integer orderId) {
+        return ResponseEntity.of(deliveryController.getOrderView(orderId).map(this::toResource));
+    }
+
+    /**
+     * Places an order. A retry sending the same {@code Idempotency-Key} header returns the
+     * original order and does not charge the client again.
+     */
+    @PostMapping
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequest request,
+                                        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        Optional<Client> client = Optional.ofNullable(request.clientId()).flatMap(clientController::getClientById);
+        if (client.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiError.of("Client introuvable"));
+        }
+        if (request.lines() == null || request.lines().isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiError.of("Au moins une pizza doit être sélectionnée"));
+        }
+
+        Map<Integer, Pizza> menu = menuController.getAllPizzas().stream()
+                .collect(Collectors.toMap(Pizza::getPizzaId, Function.identity()));
+        Cart cart = new Cart();
+        List<String> errors = new ArrayList<>();
+
+        for (OrderRequest.Line line : request.lines()) {
+            Pizza pizza = menu.get(line.pizzaId());
+            if (pizza == null) {
+                errors.add("Pizza introuvable: " + line.pizzaId());
+                continue;
+            }
+            if (line.quantity() < 1) {
+                errors.add("Quantité invalide pour " + pizza.getPizzaName() + ": " + line.quantity());
+                continue;
+            }
+            PizzaSize size = line.size() != null ? line.size() : PizzaSize.HUMAINE;
+
+            OrderPizza orderPizza = cart.add(pizza, size, line.quantity(), menuController.calculatePriceCents(pizza, size));
+            cart.setLoyalty(orderPizza, line.loyalty());
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiError(errors));
+        }
+
+        Optional<DeliveryDriver> driver = request.driverId() != null
+                ? driverController.getDriverById(request.driverId())
+                : deliveryController.getAvailableDrivers().stream().findFirst();
+        if (driver.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiError.of("Aucun livreur disponible"));
+        }
+        Optional<Vehicle> vehicle = request.vehicleId() != null
+                ? vehicleController.getVehicleById(request.vehicleId())
+                : deliveryController.getAvailableVehicles().stream().findFirst();
+        if (vehicle.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiError.of("Aucun véhicule disponible"));
+        }
+
+        Result<Order> result = deliveryController.createDelivery(driver.get(), vehicle.get(), client.get(),
+                cart, "BALANCE", idempotencyKey);
+        if (result.isFailure()) {
+            return ResponseEntity.unprocessableEntity().body(new ApiError(result.getErrors()));
+        }
+
+        Integer orderId = result.getData().getOrderId();
+        log.info("Order #{} placed through the API for client #{}", orderId, request.clientId());
+        return ResponseEntity.created(URI.create("/api/orders/" + orderId))
+                .body(deliveryController.getOrderView(orderId).map(this::toResource).orElseThrow());
+    }
+
+    /**
+     * Changes the status of an order. A change the order lifecycle does not allow, e.g. a
+     * delivered order set back to pending, is rejected with {@code 409 Conflict}.
+     */
+    @PutMapping("/{orderId}/status")
+    public ResponseEntity<?> updateStatus(@PathVariable Integer orderId, @RequestBody StatusUpdate update) {
+        if (update.status() == null) {
+            return ResponseEntity.badRequest().body(ApiError.of("Statut manquant"));
+        }
+        Optional<OrderView> order = deliveryController.getOrderView(orderId);
+        if (order.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!order.get().orderStatus().canChangeTo(update.status())) {
+            return statusConflict(List.of(order.get()), update.status());
+        }
+
+        Result<Order> result = deliveryController.updateOrderStatus(orderId, update.status());
+        if (result.isFailure()) {
+            return ResponseEntity.unprocessableEntity().body(new ApiError(result.getErrors()));
+        }
+        return ResponseEntity.of(deliveryController.getOrderView(orderId).map(this::toResource));
+    }
+
+    /**
+     * Changes the status of several orders at once, e.g. a round of deliveries reported together.
+     * Late deliveries among them are compensated together. If one of the orders may not take the
+     * new status, none is changed and {@code 409 Conflict} lists the rejected ones.
+     */
+    @PutMapping("/status")
+    public ResponseEntity<?> updateStatuses(@RequestBody BatchStatusUpdate update) {
+        if (update.status() == null) {
+            return ResponseEntity.badRequest().body(ApiError.of("Statut manquant"));
+        }
+        if (update.orderIds() == null || update.orderIds().isEmpty() || update.orderIds().contains(null)) {
+            return ResponseEntity.badRequest().body(ApiError.of("Commandes manquantes"));
+        }
+        List<OrderView> orders = deliveryController.getOrderViews(update.orderIds());
+        if (orders.size() != Set.copyOf(update.orderIds()).size()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (orders.stream().anyMatch(order -> !order.orderStatus().canChangeTo(update.status()))) {
+            return statusConflict(orders, update.status());
+        }
+
+        Result<List<Order>> result = deliveryController.updateOrderStatuses(update.orderIds(), update.status());
+        if (result.isFailure()) {
+            return ResponseEntity.unprocessableEntity().body(new ApiError(result.getErrors()));
+        }
+        return ResponseEntity.ok(deliveryController.getOrderViews(update.orderIds()).stream()
+                .map(this::toResource)
+                .toList());
+    }
+
+    private static ResponseEntity<ApiError> statusConflict(List<OrderView> orders, OrderStatus status) {
+        List<String> errors = orders.stream()
+                .filter(order -> !order.orderStatus().canChangeTo(status))
+                .map(order -> IllegalStatusChangeException.messageFor(order.orderId(), order.orderStatus(), status))
+                .toList();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError(errors));
+    }
+
+    private OrderResource toResource(OrderView order) {
+        return new OrderResource(order, deliveryController.calculateOrderTotal(order).toBigDecimal(),
+                deliveryController.isLateDelivery(order));
+    }
+}
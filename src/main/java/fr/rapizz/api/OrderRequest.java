@@ -0,0 +1,24 @@
+package fr.rapizz.api;
+
+import fr.rapizz.model.PizzaSize;
+
+import java.util.List;
+
+/**
+ * Order placed through the API, charged to the balance of the client.
+ *
+ * @param clientId  Client placing the order
+ * @param driverId  Driver to assign, or {@code null} for the first available one
+ * @param vehicleId Vehicle to assign, or {@code null} for the first available one
+ * @param lines     Ordered pizzas
+ */
+public record OrderRequest(Integer clientId, Integer driverId, Integer vehicleId, List<Line> lines) {
+    /**
+     * @param pizzaId  Pizza of the menu
+     * @param size     Size of the pizza
+     * @param quantity Number of pizzas
+     * @param loyalty  Whether one pizza of the line is paid with loyalty points
+     */
+    public record Line(Integer pizzaId, PizzaSize size, int quantity, boolean loyalty) {
+    }
+}
@@ -0,0 +1,16 @@
+package fr.rapizz.api;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import fr.rapizz.dto.OrderView;
+
+import java.math.BigDecimal;
+
+/**
+ * Order with its amount and delivery state.
+ *
+ * @param order Order, serialized inline
+ * @param total Amount charged for the order
+ * @param late  Whether the order is, or was delivered, past the promised delivery time
+ */
+public record OrderResource(@JsonUnwrapped OrderView order, BigDecimal total, boolean late) {
+}
@@ -0,0 +1,16 @@
+package fr.rapizz.api;
+
+import fr.rapizz.model.PizzaSize;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Pizza of the menu, with its price in each size.
+ *
+ * @param pizzaId   Identifier of the pizza
+ * @param pizzaName Name of the pizza
+ * @param prices    Price of the pizza by size
+ */
+public record PizzaResource(Integer pizzaId, String pizzaName, Map<PizzaSize, BigDecimal> prices) {
+}
@@ -0,0 +1,9 @@
+package fr.rapizz.api;
+
+import fr.rapizz.model.OrderStatus;
+
+/**
+ * @param status New status of the order
+ */
+public record StatusUpdate(OrderStatus status) {
+}
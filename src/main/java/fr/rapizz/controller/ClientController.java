@@ -2,13 +2,16 @@ package fr.rapizz.controller;
 
 import fr.rapizz.model.Client;
 import fr.rapizz.service.ClientService;
+import fr.rapizz.service.PhoneDirectory;
 import fr.rapizz.service.ValidationService;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,30 +21,49 @@ import java.util.Optional;
 public class ClientController {
     private final ClientService service;
     private final ValidationService validator;
+    private final PhoneDirectory phoneDirectory;
 
     public List<Client> getAllClients() {
         return service.findAll();
     }
 
+    public PageSource<Client> getClientPages() {
+        return PageSource.of(service::count, service::findPage);
+    }
+
     public List<Client> searchClients(String searchText) {
         if (searchText == null || searchText.isEmpty()) {
             return getAllClients();
         }
 
-        String search = searchText.toLowerCase();
-        return service.findAll().stream()
-                .filter(client ->
-                        client.getFirstName().toLowerCase().contains(search) ||
-                                client.getLastName().toLowerCase().contains(search) ||
-                                client.getClientAddress().toLowerCase().contains(search) ||
-                                client.getPhoneNumber().toLowerCase().contains(search))
-                .toList();
+        return service.search(searchText);
     }
 
     public Optional<Client> getClientById(Integer clientId) {
         return service.findById(clientId);
     }
 
+    public List<Client> getClientsByIds(Collection<Integer> clientIds) {
+        return service.findAllById(clientIds);
+    }
+
+    /**
+     * Identifies the caller from a possibly partial phone number.
+     *
+     * @return The identifier of the only client matching the number, if any
+     */
+    public Optional<Integer> resolveCaller(String partialNumber) {
+        return phoneDirectory.resolve(partialNumber);
+    }
+
+    public int countCallerMatches(String partialNumber) {
+        return phoneDirectory.countMatches(partialNumber);
+    }
+
+    public Optional<Client> findClientByPhone(String phoneNumber) {
+        return service.findByPhone(phoneNumber);
+    }
+
     public Result<Client> createClient(String firstName, String lastName,
                                        String address, String phone) {
         log.debug("Creating client: {} {} {} {}", firstName, lastName, address, phone);
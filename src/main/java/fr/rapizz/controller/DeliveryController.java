@@ -1,5 +1,10 @@
 package fr.rapizz.controller;
 
+import fr.rapizz.dto.Availability;
+import fr.rapizz.dto.OrderCursor;
+import fr.rapizz.dto.OrderDraft;
+import fr.rapizz.dto.OrderPage;
+import fr.rapizz.dto.OrderView;
 import fr.rapizz.model.*;
 import fr.rapizz.service.*;
 import fr.rapizz.util.Result;
@@ -7,18 +12,30 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DeliveryController {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    private static final Duration PLACEMENT_TIMEOUT = Duration.ofSeconds(10);
+
     private final OrderService orderService;
+    private final OrderIntakeQueue orderIntakeQueue;
     private final DeliveryDriverService driverService;
     private final VehicleService vehicleService;
     private final PizzaService pizzaService;
     private final ClientService clientService;
+    private final AvailabilityRegistry availabilityRegistry;
+    private final LateDeliveryMonitor lateDeliveryMonitor;
 
     public List<DeliveryDriver> getAllDrivers() {
         return driverService.findAll();
@@ -28,6 +45,10 @@ public class DeliveryController {
         return driverService.findAvailableDrivers();
     }
 
+    public Availability getAvailability() {
+        return availabilityRegistry.current();
+    }
+
     public List<Vehicle> getAllVehicles() {
         return vehicleService.findAll();
     }
@@ -44,106 +65,74 @@ public class DeliveryController {
         return orderService.findActiveOrders();
     }
 
-    public BigDecimal calculatePizzaPrice(Pizza pizza, PizzaSize size) {
-        return pizzaService.calculatePrice(pizza, size);
+    public long calculatePizzaPriceCents(Pizza pizza, PizzaSize size) {
+        return pizzaService.calculatePriceCents(pizza, size);
     }
 
+    /**
+     * Places a new order from a cart, whose lines are copied with their loyalty flags.
+     * Blocks until the order is placed: not to be called on the Event Dispatch Thread.
+     *
+     * @param idempotencyKey Key generated by the caller for this order and reused by its retries,
+     *                       which then return the original order; or {@code null}
+     */
     public Result<Order> createDelivery(DeliveryDriver driver, Vehicle vehicle, Client client,
-                                        List<OrderPizza> pizzas, String paymentMethod,
-                                        List<Integer> freePizzaIndices) {
+                                        Cart cart, String paymentMethod, String idempotencyKey) {
         log.debug("Creating delivery for client: {}, driver: {}, vehicle: {}, payment: {}",
                 client.getClientId(), driver.getDriverId(), vehicle.getVehicleId(), paymentMethod);
 
-        if (pizzas.isEmpty()) {
+        Result<OrderDraft> draft = draftDelivery(driver, vehicle, client, cart, idempotencyKey);
+        return draft.isSuccess() ? placeDelivery(draft.getData()) : Result.failure(draft.getErrors());
+    }
+
+    /**
+     * Checks a new order and copies it from its cart, which may then change without affecting the draft.
+     *
+     * @param idempotencyKey Key generated by the caller for this order and reused by its retries,
+     *                       which then return the original order; or {@code null}
+     */
+    public Result<OrderDraft> draftDelivery(DeliveryDriver driver, Vehicle vehicle, Client client,
+                                            Cart cart, String idempotencyKey) {
+        if (cart.isEmpty()) {
             return Result.failure("Au moins une pizza doit être sélectionnée");
         }
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            return Result.failure("Clé d'idempotence invalide");
+        }
 
-        try {
-            BigDecimal totalAmount = BigDecimal.ZERO;
-            for (int i = 0; i < pizzas.size(); i++) {
-                OrderPizza pizza = pizzas.get(i);
-                BigDecimal unitPrice = pizza.getPizzaPrice();
-                int quantity = pizza.getQuantity();
-
-                if (freePizzaIndices.contains(i)) {
-                    if (quantity > 1) {
-                        BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
-                        totalAmount = totalAmount.add(remainingTotal);
-                    }
-                } else {
-                    BigDecimal pizzaTotal = unitPrice.multiply(new BigDecimal(quantity));
-                    totalAmount = totalAmount.add(pizzaTotal);
-                }
-            }
-
-            if (client.getAmount().compareTo(totalAmount) < 0) {
-                return Result.failure("Solde insuffisant. Solde: " + client.getAmount() + "€, Total: " + totalAmount + "€");
-            }
-
-            int requiredPoints = freePizzaIndices.size() * 10;
-            if (client.getLoyaltyCounter() < requiredPoints) {
-                return Result.failure("Points de fidélité insuffisants. Points: " + client.getLoyaltyCounter() + ", Requis: " + requiredPoints);
-            }
-
-            Order order = new Order();
-            order.setDriver(driver);
-            order.setVehicle(vehicle);
-            order.setClient(client);
-            order.setOrderStatus(OrderStatus.PENDING);
-
-            for (int i = 0; i < pizzas.size(); i++) {
-                OrderPizza orderPizza = pizzas.get(i);
-                OrderPizza newOrderPizza = new OrderPizza();
-                newOrderPizza.setPizza(orderPizza.getPizza());
-                newOrderPizza.setPizzaSize(orderPizza.getPizzaSize());
-                newOrderPizza.setQuantity(orderPizza.getQuantity());
-                newOrderPizza.setPizzaPrice(orderPizza.getPizzaPrice());
-                newOrderPizza.setOrder(order);
-
-                if (freePizzaIndices.contains(i)) {
-                    newOrderPizza.setFreeReason(FreeReason.LOYALTY);
-                } else {
-                    newOrderPizza.setFreeReason(FreeReason.NOT_FREE);
-                }
-
-                order.addOrderItem(newOrderPizza);
-            }
-
-            Order savedOrder = orderService.save(order);
-
-            if (totalAmount.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal newBalance = client.getAmount().subtract(totalAmount);
-                clientService.updateAmount(client.getClientId(), newBalance);
-                log.info("Client #{} debited: {}€ - {}€ = {}€",
-                        client.getClientId(), client.getAmount(), totalAmount, newBalance);
-            }
-
-            if (requiredPoints > 0) {
-                int newPoints = client.getLoyaltyCounter() - requiredPoints;
-                clientService.updateLoyaltyCounter(client.getClientId(), newPoints);
-                log.info("Client #{} loyalty points deducted: {} - {} = {}",
-                        client.getClientId(), client.getLoyaltyCounter(), requiredPoints, newPoints);
-            }
+        List<OrderDraft.Line> lines = cart.getLines().stream()
+                .map(line -> new OrderDraft.Line(line.getPizza().getPizzaId(), line.getPizzaSize(),
+                        line.getQuantity(), line.getPizzaPriceCents(), line.getFreeReason()))
+                .toList();
+        return Result.success(new OrderDraft(client.getClientId(), driver.getDriverId(), vehicle.getVehicleId(),
+                lines, idempotencyKey));
+    }
 
-            int pizzasBought = 0;
-            for (int i = 0; i < pizzas.size(); i++) {
-                OrderPizza pizza = pizzas.get(i);
-                if (freePizzaIndices.contains(i)) {
-                    if (pizza.getQuantity() > 1) {
-                        pizzasBought += (pizza.getQuantity() - 1);
-                    }
-                } else {
-                    pizzasBought += pizza.getQuantity();
-                }
+    /**
+     * Places a drafted order, waiting at most {@link #PLACEMENT_TIMEOUT} for its confirmation.
+     * Blocks: not to be called on the Event Dispatch Thread.
+     *
+     * <p>An order not confirmed in time may still be placed afterwards; submitting the same
+     * draft again, with its idempotency key, then returns it.</p>
+     */
+    public Result<Order> placeDelivery(OrderDraft draft) {
+        try {
+            // Placed along with the orders of the other callers, see OrderIntakeQueue
+            return Result.success(orderIntakeQueue.submit(draft)
+                    .orTimeout(PLACEMENT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .join());
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OrderRejectedException rejection) {
+                log.info("Order rejected for client #{}: {}", draft.clientId(), rejection.getMessage());
+                return Result.failure(rejection.getMessage());
             }
-
-            if (pizzasBought > 0) {
-                clientService.incrementLoyaltyCounter(client, pizzasBought);
-                log.info("Added {} loyalty points to client #{}", pizzasBought, client.getClientId());
+            if (e.getCause() instanceof TimeoutException) {
+                log.warn("Order of client #{} not confirmed within {}", draft.clientId(), PLACEMENT_TIMEOUT);
+                return Result.failure("La commande n'a pas été confirmée à temps, veuillez réessayer");
             }
-
-            return Result.success(savedOrder);
-
+            log.error("Error creating delivery", e.getCause());
+            return Result.failure("Erreur lors de la création de la livraison: " + e.getCause().getMessage());
         } catch (Exception e) {
             log.error("Error creating delivery", e);
             return Result.failure("Erreur lors de la création de la livraison: " + e.getMessage());
@@ -154,17 +143,40 @@ public class DeliveryController {
         try {
             Order updated = orderService.updateStatus(orderId, newStatus);
             return Result.success(updated);
+        } catch (IllegalStatusChangeException e) {
+            log.info("Status change rejected: {}", e.getMessage());
+            return Result.failure(e.getMessage());
         } catch (Exception e) {
             log.error("Error updating order status for order #{}", orderId, e);
             return Result.failure("Erreur lors de la mise à jour du statut: " + e.getMessage());
         }
     }
 
-    public boolean isLateDelivery(Order order) {
+    public Result<List<Order>> updateOrderStatuses(Collection<Integer> orderIds, OrderStatus newStatus) {
+        try {
+            return Result.success(orderService.updateStatuses(orderIds, newStatus));
+        } catch (IllegalStatusChangeException e) {
+            log.info("Status change rejected: {}", e.getMessage());
+            return Result.failure(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error updating order status for orders {}", orderIds, e);
+            return Result.failure("Erreur lors de la mise à jour du statut: " + e.getMessage());
+        }
+    }
+
+    public boolean isLateDelivery(OrderView order) {
         return orderService.isLateDelivery(order);
     }
 
-    public double calculateOrderTotal(Order order) {
+    public void addLateDeliveryListener(Consumer<List<Integer>> listener) {
+        lateDeliveryMonitor.addListener(listener);
+    }
+
+    public void removeLateDeliveryListener(Consumer<List<Integer>> listener) {
+        lateDeliveryMonitor.removeListener(listener);
+    }
+
+    public Money calculateOrderTotal(OrderView order) {
         return orderService.calculateOrderTotal(order);
     }
 
@@ -172,7 +184,18 @@ public class DeliveryController {
         return orderService.findByStatus(status);
     }
 
-    public List<Order> getAllOrders() {
-        return orderService.findAll();
+    public Optional<OrderView> getOrderView(Integer orderId) {
+        return orderService.findViews(List.of(orderId)).stream().findFirst();
+    }
+
+    /**
+     * Reads the given orders, newest first, in two queries whatever their number.
+     */
+    public List<OrderView> getOrderViews(Collection<Integer> orderIds) {
+        return orderIds.isEmpty() ? List.of() : orderService.findViews(orderIds);
+    }
+
+    public OrderPage<OrderView> getOrdersPage(Collection<OrderStatus> statuses, OrderCursor after, int pageSize) {
+        return orderService.findPage(statuses, after, pageSize);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package fr.rapizz.controller;
 import fr.rapizz.model.DeliveryDriver;
 import fr.rapizz.service.DeliveryDriverService;
 import fr.rapizz.service.ValidationService;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,10 @@ public class DriverController {
         return service.findAll();
     }
 
+    public PageSource<DeliveryDriver> getDriverPages() {
+        return PageSource.of(service::count, service::findPage);
+    }
+
     public List<DeliveryDriver> searchDrivers(String searchText) {
         if (searchText == null || searchText.isEmpty()) {
             return getAllDrivers();
@@ -23,4 +23,8 @@ public class MenuController {
     public BigDecimal calculatePrice(Pizza pizza, PizzaSize size) {
         return pizzaService.calculatePrice(pizza, size);
     }
+
+    public long calculatePriceCents(Pizza pizza, PizzaSize size) {
+        return pizzaService.calculatePriceCents(pizza, size);
+    }
 }
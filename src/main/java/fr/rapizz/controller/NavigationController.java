@@ -3,9 +3,11 @@ package fr.rapizz.controller;
 import fr.rapizz.view.MainFrame;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!headless")
 @RequiredArgsConstructor
 @Slf4j
 public class NavigationController {
@@ -1,42 +1,38 @@
 package fr.rapizz.controller;
 
-import fr.rapizz.model.OrderStatus;
+import fr.rapizz.dto.DashboardSnapshot;
+import fr.rapizz.service.StatisticsRollupService;
 import fr.rapizz.service.StatisticsService;
+import fr.rapizz.util.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StatisticsController {
     private final StatisticsService statisticsService;
-
-    public BigDecimal calculateTotalRevenue(LocalDate startDate) {
-        return statisticsService.calculateTotalRevenue(startDate);
-    }
-
-    public int countOrders(LocalDate startDate) {
-        return statisticsService.countOrders(startDate);
-    }
-
-    public String findTopDriver(LocalDate startDate) {
-        return statisticsService.findTopDriver(startDate);
-    }
-
-    public Map<String, Integer> getMostPopularPizzas(LocalDate startDate, int limit) {
-        return statisticsService.getMostPopularPizzas(startDate, limit);
-    }
-
-    public Map<OrderStatus, Integer> getOrderStatusCounts(LocalDate startDate) {
-        return statisticsService.getOrderStatusCounts(startDate);
+    private final StatisticsRollupService rollupService;
+
+    public Result<DashboardSnapshot> loadDashboard(LocalDate startDate, int pizzaLimit) {
+        try {
+            return Result.success(statisticsService.loadDashboard(startDate, pizzaLimit));
+        } catch (Exception e) {
+            log.error("Error loading dashboard", e);
+            return Result.failure("Erreur lors du chargement des statistiques: " + e.getMessage());
+        }
     }
 
-    public Map<String, BigDecimal> getRevenueByTimePeriod(LocalDate startDate) {
-        return statisticsService.getRevenueByTimePeriod(startDate);
+    public Result<Void> rebuildStatistics() {
+        try {
+            rollupService.rebuild();
+            return Result.success(null);
+        } catch (Exception e) {
+            log.error("Error rebuilding statistics", e);
+            return Result.failure("Erreur lors du recalcul des statistiques: " + e.getMessage());
+        }
     }
 }
@@ -4,6 +4,7 @@ import fr.rapizz.model.Vehicle;
 import fr.rapizz.model.VehicleType;
 import fr.rapizz.service.ValidationService;
 import fr.rapizz.service.VehicleService;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,10 @@ public class VehicleController {
         return service.findAll();
     }
 
+    public PageSource<Vehicle> getVehiclePages() {
+        return PageSource.of(service::count, service::findPage);
+    }
+
     public List<Vehicle> searchVehicles(String searchText) {
         if (searchText == null || searchText.isEmpty()) {
             return getAllVehicles();
@@ -0,0 +1,12 @@
+package fr.rapizz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal projection of an order that is not delivered yet.
+ *
+ * @param orderId   Identifier of the order
+ * @param orderDate Creation date of the order, start of the promised delivery time
+ */
+public record ActiveOrder(Integer orderId, LocalDateTime orderDate) {
+}
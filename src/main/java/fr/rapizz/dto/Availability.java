@@ -0,0 +1,27 @@
+package fr.rapizz.dto;
+
+import java.util.BitSet;
+
+/**
+ * Immutable view of which drivers and vehicles are currently on a delivery.
+ *
+ * <p>Backed by bit sets indexed by identifier, so a lookup is a single bit test
+ * whatever the number of orders on the road.</p>
+ */
+public final class Availability {
+    private final BitSet occupiedDrivers;
+    private final BitSet occupiedVehicles;
+
+    public Availability(BitSet occupiedDrivers, BitSet occupiedVehicles) {
+        this.occupiedDrivers = (BitSet) occupiedDrivers.clone();
+        this.occupiedVehicles = (BitSet) occupiedVehicles.clone();
+    }
+
+    public boolean isDriverAvailable(int driverId) {
+        return !occupiedDrivers.get(driverId);
+    }
+
+    public boolean isVehicleAvailable(int vehicleId) {
+        return !occupiedVehicles.get(vehicleId);
+    }
+}
@@ -0,0 +1,44 @@
+package fr.rapizz.dto;
+
+import fr.rapizz.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of figures displayed by the statistics dashboard for one period.
+ *
+ * <p>Maps keep the order in which they were built (most popular pizzas first,
+ * revenue by ascending day).</p>
+ *
+ * @param startDate     First day of the period
+ * @param totalRevenue  Revenue of the period
+ * @param totalOrders   Number of orders placed in the period
+ * @param topDriver     Name of the driver with the most deliveries, or "Aucun"
+ * @param popularPizzas Order lines per pizza name, most popular first
+ * @param statusCounts  Number of orders per current status
+ * @param revenueByDay  Revenue per day ("yyyy-MM-dd"), ascending
+ */
+public record DashboardSnapshot(LocalDate startDate,
+                                BigDecimal totalRevenue,
+                                int totalOrders,
+                                String topDriver,
+                                Map<String, Integer> popularPizzas,
+                                Map<OrderStatus, Integer> statusCounts,
+                                Map<String, BigDecimal> revenueByDay) {
+    public DashboardSnapshot {
+        popularPizzas = Collections.unmodifiableMap(new LinkedHashMap<>(popularPizzas));
+        statusCounts = Collections.unmodifiableMap(new LinkedHashMap<>(statusCounts));
+        revenueByDay = Collections.unmodifiableMap(new LinkedHashMap<>(revenueByDay));
+    }
+
+    public BigDecimal averageOrderValue() {
+        return totalOrders > 0
+                ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,26 @@
+package fr.rapizz.dto;
+
+import fr.rapizz.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Compensation owed for an order delivered late, as computed from its lines.
+ *
+ * @param orderId      Identifier of the late order
+ * @param clientId     Client to credit
+ * @param amount       Money paid for the order: full lines, and the paid part of loyalty lines
+ * @param loyaltyLines Number of lines paid with loyalty points, each refunded in points
+ */
+public record LateDeliveryRefund(Integer orderId, Integer clientId, Money amount, long loyaltyLines) {
+    /**
+     * Constructor used by the aggregate query.
+     */
+    public LateDeliveryRefund(Integer orderId, Integer clientId, BigDecimal amount, long loyaltyLines) {
+        this(orderId, clientId, Money.of(amount), loyaltyLines);
+    }
+
+    public boolean refundsMoney() {
+        return amount.isPositive();
+    }
+}
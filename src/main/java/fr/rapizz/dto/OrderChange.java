@@ -0,0 +1,17 @@
+package fr.rapizz.dto;
+
+import fr.rapizz.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal projection of a modified order, enough to update the in-memory order state.
+ *
+ * @param orderId     Identifier of the order
+ * @param orderStatus Status of the order after the modification
+ * @param orderDate   Creation date of the order
+ * @param updatedAt   Last modification of the order, set by the database
+ */
+public record OrderChange(Integer orderId, OrderStatus orderStatus, LocalDateTime orderDate,
+                          LocalDateTime updatedAt) {
+}
@@ -0,0 +1,15 @@
+package fr.rapizz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position in the order history.
+ *
+ * <p>Orders are browsed newest first on {@code (order_date, order_id)}; a cursor
+ * designates the last order of a page, and the next page starts strictly after it.</p>
+ *
+ * @param orderDate Creation date of the last order returned
+ * @param orderId   Identifier of the last order returned, used as a tie-breaker
+ */
+public record OrderCursor(LocalDateTime orderDate, Integer orderId) {
+}
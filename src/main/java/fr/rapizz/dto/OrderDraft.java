@@ -0,0 +1,43 @@
+package fr.rapizz.dto;
+
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.PizzaSize;
+
+import java.util.List;
+
+/**
+ * New order submitted for placement, referring to its client, driver, vehicle and pizzas by identifier.
+ *
+ * <p>Unlike an {@link fr.rapizz.model.Order} entity, a draft is immutable and bound to no persistence
+ * context: each placement attempt builds fresh entities from it, so it can be attempted again in a
+ * new transaction after a rollback.</p>
+ *
+ * @param clientId       Client charged for the order
+ * @param driverId       Assigned driver, or {@code null}
+ * @param vehicleId      Assigned vehicle, or {@code null}
+ * @param lines          Ordered pizzas
+ * @param idempotencyKey Key reused by the retries of the submission, or {@code null}
+ */
+public record OrderDraft(Integer clientId,
+                         Integer driverId,
+                         Integer vehicleId,
+                         List<Line> lines,
+                         String idempotencyKey) {
+    public OrderDraft {
+        lines = List.copyOf(lines);
+    }
+
+    public OrderDraft withIdempotencyKey(String idempotencyKey) {
+        return new OrderDraft(clientId, driverId, vehicleId, lines, idempotencyKey);
+    }
+
+    /**
+     * @param pizzaId    Pizza of the menu
+     * @param size       Size of the pizzas
+     * @param quantity   Number of pizzas
+     * @param unitCents  Price of one pizza in cents, as quoted to the client
+     * @param freeReason Whether one pizza of the line is paid with loyalty points
+     */
+    public record Line(Integer pizzaId, PizzaSize size, int quantity, long unitCents, FreeReason freeReason) {
+    }
+}
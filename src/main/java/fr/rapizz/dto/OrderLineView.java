@@ -0,0 +1,42 @@
+package fr.rapizz.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Money;
+import fr.rapizz.model.PizzaSize;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an order line, as displayed on an order card.
+ *
+ * <p>Built directly by a constructor-expression query; holds no reference to
+ * the persistence context.</p>
+ *
+ * @param orderId    Order this line belongs to
+ * @param pizzaName  Name of the ordered pizza
+ * @param pizzaSize  Selected size
+ * @param quantity   Number of pizzas
+ * @param pizzaPrice      Unit price at the time of order
+ * @param freeReason      Reason why the line is free, if any
+ * @param pizzaPriceCents Unit price in cents, for the pricing of orders
+ */
+public record OrderLineView(Integer orderId,
+                            String pizzaName,
+                            PizzaSize pizzaSize,
+                            Integer quantity,
+                            BigDecimal pizzaPrice,
+                            FreeReason freeReason,
+                            @JsonIgnore long pizzaPriceCents) {
+    /**
+     * Constructor used by the query.
+     */
+    public OrderLineView(Integer orderId, String pizzaName, PizzaSize pizzaSize, Integer quantity,
+                         BigDecimal pizzaPrice, FreeReason freeReason) {
+        this(orderId, pizzaName, pizzaSize, quantity, pizzaPrice, freeReason, Money.centsOf(pizzaPrice));
+    }
+
+    public boolean isFree() {
+        return freeReason != FreeReason.NOT_FREE;
+    }
+}
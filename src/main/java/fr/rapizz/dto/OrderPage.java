@@ -0,0 +1,16 @@
+package fr.rapizz.dto;
+
+import java.util.List;
+
+/**
+ * One page of orders returned by a keyset query.
+ *
+ * @param items      Orders of this page, newest first
+ * @param nextCursor Cursor to pass to fetch the following page, or {@code null} on the last page
+ * @param <T>        Representation of an order
+ */
+public record OrderPage<T>(List<T> items, OrderCursor nextCursor) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
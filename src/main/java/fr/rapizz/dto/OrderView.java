@@ -0,0 +1,63 @@
+package fr.rapizz.dto;
+
+import fr.rapizz.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of an order, carrying only what an order card displays.
+ *
+ * <p>The header columns are selected by a constructor-expression query and the
+ * lines by a second one; {@link #withItems(List)} assembles both. Unlike a managed
+ * {@link fr.rapizz.model.Order}, a view is never dirty-checked and holds no proxy.</p>
+ *
+ * @param orderId       Order identifier
+ * @param clientId      Identifier of the client who placed the order
+ * @param orderDate     Creation date
+ * @param deliveredAt   Delivery date, or {@code null} if not delivered
+ * @param orderStatus   Current status
+ * @param clientName    Full name of the client, or {@code null}
+ * @param clientAddress Delivery address, or {@code null}
+ * @param driverName    Full name of the assigned driver, or {@code null}
+ * @param licensePlate  Plate of the assigned vehicle, or {@code null}
+ * @param items         Order lines
+ */
+public record OrderView(Integer orderId,
+                        Integer clientId,
+                        LocalDateTime orderDate,
+                        LocalDateTime deliveredAt,
+                        OrderStatus orderStatus,
+                        String clientName,
+                        String clientAddress,
+                        String driverName,
+                        String licensePlate,
+                        List<OrderLineView> items) {
+    public OrderView {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Constructor used by the header projection query; lines are attached afterwards.
+     */
+    public OrderView(Integer orderId, Integer clientId, LocalDateTime orderDate,
+                     LocalDateTime deliveredAt, OrderStatus orderStatus,
+                     String clientFirstName, String clientLastName, String clientAddress,
+                     String driverFirstName, String driverLastName, String licensePlate) {
+        this(orderId, clientId, orderDate, deliveredAt, orderStatus,
+                fullName(clientFirstName, clientLastName), clientAddress,
+                fullName(driverFirstName, driverLastName), licensePlate, List.of());
+    }
+
+    public OrderView withItems(List<OrderLineView> items) {
+        return new OrderView(orderId, clientId, orderDate, deliveredAt, orderStatus,
+                clientName, clientAddress, driverName, licensePlate, items);
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+    }
+}
@@ -0,0 +1,12 @@
+package fr.rapizz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifier of a row with the time of its last modification.
+ *
+ * @param id        Identifier of the row
+ * @param updatedAt Last modification of the row, set by the database
+ */
+public record RowVersion(Integer id, LocalDateTime updatedAt) {
+}
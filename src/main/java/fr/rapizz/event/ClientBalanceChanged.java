@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * The balance or the loyalty points of a client changed, e.g. when charged for an order
+ * or refunded for a late delivery.
+ *
+ * @param clientId Identifier of the client
+ */
+public record ClientBalanceChanged(Integer clientId) implements DomainEvent {
+}
@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * A client was created, edited or deleted.
+ *
+ * @param clientId Identifier of the client
+ * @param deleted  Whether the client no longer exists
+ */
+public record ClientChanged(Integer clientId, boolean deleted) implements DomainEvent {
+}
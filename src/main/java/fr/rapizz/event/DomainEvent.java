@@ -0,0 +1,14 @@
+package fr.rapizz.event;
+
+/**
+ * Change of the data of the pizzeria, published by the services once the transaction making it
+ * has committed.
+ *
+ * <p>Events carry identifiers only: subscribers read the current state they need, so that an
+ * event never holds entities detached from their session.</p>
+ *
+ * @see DomainEventBus
+ */
+public sealed interface DomainEvent permits OrderPlaced, OrderStatusChanged, OrderChanged, ClientChanged,
+        ClientBalanceChanged, DriverChanged, VehicleChanged, PizzaChanged {
+}
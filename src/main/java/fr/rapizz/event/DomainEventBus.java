@@ -0,0 +1,165 @@
+package fr.rapizz.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.swing.*;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link DomainEvent}s to the views on the Event Dispatch Thread.
+ *
+ * <p>Services publish events within their transaction; the bus receives them once it has
+ * committed, and not at all if it rolls back. Events published outside a transaction are
+ * received right away. Each subscriber then gets the events of a burst in a single call on
+ * the EDT, e.g. the orders refunded by a batch, so that it refreshes once.</p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * eventBus.subscribeWhileShowing(this, events -> loadEntities(), ClientChanged.class);
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventBus {
+    private final ApplicationEventPublisher publisher;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publishes an event, delivered once the current transaction commits.
+     */
+    public void publish(DomainEvent event) {
+        publisher.publishEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(DomainEvent event) {
+        log.debug("Domain event: {}", event);
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**
+     * Subscribes to the events of the given types.
+     *
+     * @param handler Called on the EDT with the events received since its previous call, in order
+     * @param types   Types of the events to receive
+     * @return The subscription, to close when the events are no longer needed
+     */
+    @SafeVarargs
+    public final Subscription subscribe(Consumer<List<DomainEvent>> handler,
+                                        Class<? extends DomainEvent>... types) {
+        Subscriber subscriber = new Subscriber(Set.of(types), handler);
+        subscribers.add(subscriber);
+        return () -> {
+            subscriber.active = false;
+            subscribers.remove(subscriber);
+        };
+    }
+
+    /**
+     * Subscribes to the events of a single type.
+     *
+     * @see #subscribe(Consumer, Class[])
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<List<E>> handler) {
+        return subscribe(events -> handler.accept((List<E>) (List<?>) events), type);
+    }
+
+    /**
+     * Subscribes to the events of the given types while a component is showing, e.g. a panel
+     * that stops listening once the user navigates away from it.
+     *
+     * @see #subscribe(Consumer, Class[])
+     */
+    @SafeVarargs
+    public final void subscribeWhileShowing(JComponent component, Consumer<List<DomainEvent>> handler,
+                                            Class<? extends DomainEvent>... types) {
+        component.addAncestorListener(new AncestorListener() {
+            private Subscription subscription;
+
+            @Override
+            public void ancestorAdded(AncestorEvent event) {
+                if (subscription == null) {
+                    subscription = subscribe(handler, types);
+                }
+            }
+
+            @Override
+            public void ancestorRemoved(AncestorEvent event) {
+                if (subscription != null) {
+                    subscription.close();
+                    subscription = null;
+                }
+            }
+
+            @Override
+            public void ancestorMoved(AncestorEvent event) {
+            }
+        });
+    }
+
+    /**
+     * Registration of a subscriber.
+     */
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Subscriber {
+        private final Set<Class<? extends DomainEvent>> types;
+        private final Consumer<List<DomainEvent>> handler;
+        private volatile boolean active = true;
+
+        private List<DomainEvent> pending = new ArrayList<>();
+        private boolean scheduled;
+
+        private Subscriber(Set<Class<? extends DomainEvent>> types, Consumer<List<DomainEvent>> handler) {
+            this.types = types;
+            this.handler = handler;
+        }
+
+        private void offer(DomainEvent event) {
+            if (types.stream().noneMatch(type -> type.isInstance(event))) {
+                return;
+            }
+            synchronized (this) {
+                pending.add(event);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            SwingUtilities.invokeLater(this::drain);
+        }
+
+        private void drain() {
+            List<DomainEvent> events;
+            synchronized (this) {
+                events = pending;
+                pending = new ArrayList<>();
+                scheduled = false;
+            }
+            if (!active) {
+                return;
+            }
+            try {
+                handler.accept(List.copyOf(events));
+            } catch (RuntimeException e) {
+                log.error("Domain event subscriber failed", e);
+            }
+        }
+    }
+}
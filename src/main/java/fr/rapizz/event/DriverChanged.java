@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * A delivery driver was created, edited or deleted.
+ *
+ * @param driverId Identifier of the driver
+ * @param deleted  Whether the driver no longer exists
+ */
+public record DriverChanged(Integer driverId, boolean deleted) implements DomainEvent {
+}
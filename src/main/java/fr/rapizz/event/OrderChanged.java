@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * An order was written by another terminal sharing the database; the kind of change is unknown.
+ *
+ * @param orderId Identifier of the order
+ * @see fr.rapizz.service.ChangePoller
+ */
+public record OrderChanged(Integer orderId) implements DomainEvent {
+}
@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * A new order was placed.
+ *
+ * @param orderId  Identifier of the order
+ * @param clientId Client who placed it
+ */
+public record OrderPlaced(Integer orderId, Integer clientId) implements DomainEvent {
+}
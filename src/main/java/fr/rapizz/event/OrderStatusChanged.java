@@ -0,0 +1,14 @@
+package fr.rapizz.event;
+
+import fr.rapizz.model.OrderStatus;
+
+/**
+ * An order moved to another status.
+ *
+ * @param orderId   Identifier of the order
+ * @param oldStatus Status before the change
+ * @param newStatus Status after the change
+ */
+public record OrderStatusChanged(Integer orderId, OrderStatus oldStatus, OrderStatus newStatus)
+        implements DomainEvent {
+}
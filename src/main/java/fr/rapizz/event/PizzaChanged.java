@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * A pizza of the menu was created, edited or deleted.
+ *
+ * @param pizzaId Identifier of the pizza
+ * @param deleted Whether the pizza no longer exists
+ */
+public record PizzaChanged(Integer pizzaId, boolean deleted) implements DomainEvent {
+}
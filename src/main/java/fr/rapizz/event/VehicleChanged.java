@@ -0,0 +1,10 @@
+package fr.rapizz.event;
+
+/**
+ * A vehicle was created, edited or deleted.
+ *
+ * @param vehicleId Identifier of the vehicle
+ * @param deleted   Whether the vehicle no longer exists
+ */
+public record VehicleChanged(Integer vehicleId, boolean deleted) implements DomainEvent {
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,6 +25,7 @@ import java.util.Set;
  *   <li><b>phone_number</b>: VARCHAR(16), E.164 format</li>
  *   <li><b>amount</b>: DECIMAL(8,2) NOT NULL DEFAULT 0.0</li>
  *   <li><b>loyalty_counter</b>: INT NOT NULL DEFAULT 0</li>
+ *   <li><b>updated_at</b>: DATETIME(6) NOT NULL, maintained by the database on every write</li>
  * </ul>
  */
 @Entity
@@ -69,6 +71,13 @@ public class Client {
     @Column(nullable = false)
     private Integer loyaltyCounter = 0;
 
+    /**
+     * Timestamp of the last modification, set by the database.
+     * Read-only: the value loaded with the entity is not refreshed when it is saved.
+     */
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
     /**
      * Orders placed by this client.
      */
@@ -0,0 +1,48 @@
+package fr.rapizz.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the number of delivered orders of one day for a given driver.
+ *
+ * <p>Mapped to the {@code daily_driver_deliveries} table. Maintained incrementally by
+ * {@link fr.rapizz.service.StatisticsRollupService}; never written through JPA.</p>
+ *
+ * <p>Primary key: ({@code stat_date}, {@code driver_id}).</p>
+ *
+ * <ul>
+ *   <li><b>driver_id</b>: foreign key to {@code delivery_drivers}</li>
+ *   <li><b>delivery_count</b>: INT NOT NULL</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "daily_driver_deliveries")
+@IdClass(DailyDriverDelivery.Key.class)
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = {"statDate", "driverId"})
+@ToString
+public class DailyDriverDelivery {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "driver_id")
+    private Integer driverId;
+
+    @Column(name = "delivery_count", nullable = false)
+    private Integer deliveryCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private Integer driverId;
+    }
+}
@@ -0,0 +1,48 @@
+package fr.rapizz.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the number of order lines of one day for a given pizza.
+ *
+ * <p>Mapped to the {@code daily_pizza_counts} table. Maintained incrementally by
+ * {@link fr.rapizz.service.StatisticsRollupService}; never written through JPA.</p>
+ *
+ * <p>Primary key: ({@code stat_date}, {@code pizza_id}).</p>
+ *
+ * <ul>
+ *   <li><b>pizza_id</b>: foreign key to {@code pizzas}</li>
+ *   <li><b>line_count</b>: INT NOT NULL</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "daily_pizza_counts")
+@IdClass(DailyPizzaCount.Key.class)
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = {"statDate", "pizzaId"})
+@ToString
+public class DailyPizzaCount {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "pizza_id")
+    private Integer pizzaId;
+
+    @Column(name = "line_count", nullable = false)
+    private Integer lineCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private Integer pizzaId;
+    }
+}
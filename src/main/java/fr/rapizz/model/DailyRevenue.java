@@ -0,0 +1,35 @@
+package fr.rapizz.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the revenue of one day.
+ *
+ * <p>Mapped to the {@code daily_revenue} table. Maintained incrementally by
+ * {@link fr.rapizz.service.StatisticsRollupService} as orders are placed and
+ * change status; never written through JPA.</p>
+ *
+ * <p>Primary key: {@code stat_date}.</p>
+ *
+ * <ul>
+ *   <li><b>revenue</b>: DECIMAL(12, 2) NOT NULL — sum of the lines of the day's non-canceled orders</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "daily_revenue")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "statDate")
+@ToString
+public class DailyRevenue {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,48 @@
+package fr.rapizz.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the number of orders of one day currently in a given status.
+ *
+ * <p>Mapped to the {@code daily_status_counts} table. Maintained incrementally by
+ * {@link fr.rapizz.service.StatisticsRollupService}; never written through JPA.</p>
+ *
+ * <p>Primary key: ({@code stat_date}, {@code order_status}).</p>
+ *
+ * <ul>
+ *   <li><b>order_count</b>: INT NOT NULL</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "daily_status_counts")
+@IdClass(DailyStatusCount.Key.class)
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = {"statDate", "orderStatus"})
+@ToString
+public class DailyStatusCount {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status")
+    private OrderStatus orderStatus;
+
+    @Column(name = "order_count", nullable = false)
+    private Integer orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private OrderStatus orderStatus;
+    }
+}
@@ -0,0 +1,70 @@
+package fr.rapizz.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount in euros, held as a whole number of cents.
+ *
+ * <p>Exact for every amount the database stores ({@code DECIMAL(n, 2)} columns), and cheap to
+ * compute with: sums and products are plain {@code long} operations, checked for overflow.
+ * Amounts read as {@link BigDecimal} are rounded half up to the cent, as the columns store them.</p>
+ *
+ * @param cents Amount in cents, possibly negative
+ */
+public record Money(long cents) implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofCents(centsOf(amount));
+    }
+
+    /**
+     * Converts an amount to cents without creating a {@code Money}. Allocates intermediate numbers:
+     * meant for amounts entering the application, which are then kept in cents.
+     */
+    public static long centsOf(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * @return The amount with two decimals, e.g. {@code 12.50}
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
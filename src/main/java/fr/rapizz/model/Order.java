@@ -21,7 +21,8 @@ import java.util.stream.Collectors;
  * about the order such as creation timestamp, status, delivery details,
  * and client feedback.</p>
  *
- * <p>Primary key: {@code order_id} (INT NOT NULL AUTO_INCREMENT).</p>
+ * <p>Primary key: {@code order_id} (INT NOT NULL AUTO_INCREMENT), generated by Hibernate
+ * from the {@code orders_seq} sequence in blocks of {@value #ID_ALLOCATION_SIZE} so that inserts can be batched.</p>
  *
  * <ul>
  *   <li><b>client_id</b>: foreign key to {@code clients}</li>
@@ -30,6 +31,8 @@ import java.util.stream.Collectors;
  *   <li><b>order_date</b>: DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP</li>
  *   <li><b>order_status</b>: ENUM('PENDING', 'IN_PROGRESS', 'DELIVERED', 'CANCELED') NOT NULL DEFAULT 'PENDING' — defined by {@link OrderStatus}</li>
  *   <li><b>client_rating</b>: TINYINT DEFAULT NULL CHECK (client_rating BETWEEN 0 AND 5)</li>
+ *   <li><b>updated_at</b>: DATETIME(6) NOT NULL, maintained by the database on every write</li>
+ *   <li><b>idempotency_key</b>: VARCHAR(64) UNIQUE DEFAULT NULL</li>
  * </ul>
  *
  * <p>One-to-many relation with {@link OrderPizza} for the pizzas included in the order.
@@ -43,8 +46,14 @@ import java.util.stream.Collectors;
 @EqualsAndHashCode(of = "orderId")
 @ToString(exclude = {"client", "driver", "vehicle", "orderItems"})
 public class Order {
+    /**
+     * Number of identifiers reserved per sequence call; must match the sequence increment.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "order_id")
     private Integer orderId;
 
@@ -89,6 +98,20 @@ public class Order {
     @Column(name = "client_rating")
     private Integer clientRating;
 
+    /**
+     * Timestamp of the last modification, set by the database.
+     * Read-only: the value loaded with the entity is not refreshed when it is saved.
+     */
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Key chosen by the submitter of the order, identifying its retries.
+     * {@code null} for orders placed without one.
+     */
+    @Column(name = "idempotency_key", length = 64, updatable = false)
+    private String idempotencyKey;
+
     /**
      * Pizza items included in this order.
      */
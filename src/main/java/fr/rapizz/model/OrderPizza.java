@@ -12,7 +12,8 @@ import java.math.BigDecimal;
  * table between {@code orders} and {@code pizzas}, enriched with additional
  * order-specific details such as quantity, selected size, and unit price.</p>
  *
- * <p>Primary key: {@code order_item_id} (INT NOT NULL AUTO_INCREMENT).</p>
+ * <p>Primary key: {@code order_item_id} (INT NOT NULL AUTO_INCREMENT), generated by Hibernate
+ * from the {@code order_pizzas_seq} sequence in blocks of {@value #ID_ALLOCATION_SIZE} so that inserts can be batched.</p>
  *
  * <ul>
  *   <li><b>order_id</b>: foreign key to {@code orders}</li>
@@ -33,8 +34,14 @@ import java.math.BigDecimal;
 @EqualsAndHashCode(of = "orderItemId")
 @ToString(exclude = {"order", "pizza"})
 public class OrderPizza {
+    /**
+     * Number of identifiers reserved per sequence call; must match the sequence increment.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_pizzas_seq")
+    @SequenceGenerator(name = "order_pizzas_seq", sequenceName = "order_pizzas_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "order_item_id")
     private Integer orderItemId;
 
@@ -73,8 +80,16 @@ public class OrderPizza {
      * the price at time of order and account for size adjustments.
      */
     @Column(name = "pizza_price", nullable = false, precision = 5, scale = 2)
+    @Setter(AccessLevel.NONE)
     private BigDecimal pizzaPrice;
 
+    /**
+     * The same price in cents, kept in step with {@link #pizzaPrice} for the pricing of orders.
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private long pizzaPriceCents;
+
     /**
      * Tracks the reason if an item is provided for free.
      * @see FreeReason
@@ -83,7 +98,22 @@ public class OrderPizza {
     @Column(name = "free_reason", nullable = false)
     private FreeReason freeReason = FreeReason.NOT_FREE;
 
+    public void setPizzaPrice(BigDecimal pizzaPrice) {
+        this.pizzaPrice = pizzaPrice;
+        this.pizzaPriceCents = pizzaPrice != null ? Money.centsOf(pizzaPrice) : 0;
+    }
+
+    public void setPizzaPriceCents(long pizzaPriceCents) {
+        this.pizzaPrice = BigDecimal.valueOf(pizzaPriceCents, 2);
+        this.pizzaPriceCents = pizzaPriceCents;
+    }
+
     public boolean isFree() {
         return freeReason != FreeReason.NOT_FREE;
     }
+
+    @PostLoad
+    private void loadPizzaPriceCents() {
+        pizzaPriceCents = Money.centsOf(pizzaPrice);
+    }
 }
@@ -37,4 +37,18 @@ public enum OrderStatus {
     OrderStatus(String displayName) {
         this.displayName = displayName;
     }
+
+    /**
+     * Tells whether an order in this status may move to the given one.
+     * An order goes forward only: delivered and canceled orders never change again.
+     *
+     * @param next Requested status
+     */
+    public boolean canChangeTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == IN_PROGRESS || next == CANCELED;
+            case IN_PROGRESS -> next == DELIVERED || next == CANCELED;
+            case DELIVERED, CANCELED -> false;
+        };
+    }
 }
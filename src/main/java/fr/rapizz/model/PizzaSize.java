@@ -2,6 +2,9 @@ package fr.rapizz.model;
 
 import lombok.Getter;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 /**
  * Represents the available size options for pizzas.
  * The size affects the final price of pizza items in orders.
@@ -10,25 +13,43 @@ import lombok.Getter;
 public enum PizzaSize {
     /**
      * Small pizza size (25cm diameter).
-     * Priced at 80% of the base price.
+     * Priced at 67% of the base price.
      */
-    NAINE("Taille Naine"),
+    NAINE("Taille Naine", new BigDecimal("0.67")),
 
     /**
      * Medium pizza size (33cm diameter).
      * This is the standard size with regular base price.
      */
-    HUMAINE("Taille Humaine"),
+    HUMAINE("Taille Humaine", BigDecimal.ONE),
 
     /**
      * Large pizza size (40cm diameter).
-     * Priced at 130% of the base price.
+     * Priced at 133% of the base price.
      */
-    OGRESSE("Taille Ogresse");
+    OGRESSE("Taille Ogresse", new BigDecimal("1.33"));
 
     private final String displayName;
 
-    PizzaSize(String displayName) {
+    /**
+     * Factor applied to the base price of a pizza.
+     */
+    private final BigDecimal priceFactor;
+
+    PizzaSize(String displayName, BigDecimal priceFactor) {
         this.displayName = displayName;
+        this.priceFactor = priceFactor;
+    }
+
+    /**
+     * Computes the price of a pizza in this size, rounded half up to the cent as order lines store it.
+     *
+     * <p>Orders used to be charged the exact product, e.g. 16.625€ for a large pizza based at
+     * 12.50€, while the line stored 16.63€. The amount charged is now the sum of the stored lines:
+     * it differs from the former one by at most half a cent per pizza.</p>
+     * @param basePrice Base price of the pizza (medium size)
+     */
+    public BigDecimal priceFor(BigDecimal basePrice) {
+        return this == HUMAINE ? basePrice : basePrice.multiply(priceFactor).setScale(2, RoundingMode.HALF_UP);
     }
 }
@@ -1,15 +1,42 @@
 package fr.rapizz.repository;
 
+import fr.rapizz.dto.RowVersion;
 import fr.rapizz.model.Client;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Integer> {
+    @Query("SELECT c FROM Client c ORDER BY c.clientId")
+    List<Client> findPage(Pageable pageable);
+
+    @Query("SELECT MAX(c.updatedAt) FROM Client c")
+    LocalDateTime findLastUpdate();
+
+    /**
+     * Lists the clients modified since the given time, by the index on {@code updated_at}.
+     */
+    @Query("SELECT new fr.rapizz.dto.RowVersion(c.clientId, c.updatedAt) FROM Client c " +
+            "WHERE c.updatedAt >= :since ORDER BY c.updatedAt")
+    List<RowVersion> findVersionsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Finds a client by the digits of their number in E.164 form.
+     *
+     * @see fr.rapizz.util.PhoneNumbers#normalize(String)
+     */
+    @Query(value = "SELECT * FROM clients WHERE phone_digits = :phoneDigits LIMIT 1", nativeQuery = true)
+    Optional<Client> findByPhoneDigits(@Param("phoneDigits") String phoneDigits);
+
     @Modifying
     @Query("UPDATE Client c SET c.loyaltyCounter = c.loyaltyCounter + :count WHERE c.clientId = :clientId")
     void incrementLoyaltyCounter(@Param("clientId") Integer clientId, @Param("count") int count);
@@ -21,4 +48,41 @@ public interface ClientRepository extends JpaRepository<Client, Integer> {
     @Modifying
     @Query("UPDATE Client c SET c.amount = :newAmount WHERE c.clientId = :clientId")
     void updateAmount(@Param("clientId") Integer clientId, @Param("newAmount") BigDecimal newAmount);
+
+    /**
+     * Charges an order to a client: debits the balance, deducts the loyalty points spent
+     * on free pizzas and credits the points earned, only if the client can afford both.
+     *
+     * @return The number of updated rows: {@code 0} if the client is missing or cannot pay
+     */
+    @Modifying
+    @Query("UPDATE Client c SET c.amount = c.amount - :total, " +
+            "c.loyaltyCounter = c.loyaltyCounter - :pointsSpent + :pointsEarned " +
+            "WHERE c.clientId = :clientId AND c.amount >= :total AND c.loyaltyCounter >= :pointsSpent")
+    int debitForOrder(@Param("clientId") Integer clientId,
+                      @Param("total") BigDecimal total,
+                      @Param("pointsSpent") int pointsSpent,
+                      @Param("pointsEarned") int pointsEarned);
+
+    /**
+     * Credits the late delivery compensation of the given orders, one grouped credit per client:
+     * the money paid for the orders, plus the points spent on their loyalty lines. Must run
+     * before the lines are marked as compensated.
+     *
+     * @return The number of credited clients
+     * @see OrderRepository#findLateDeliveryRefunds(java.util.Collection)
+     */
+    @Modifying
+    @Query(value = "UPDATE clients c JOIN (" +
+            "SELECT o.client_id, " +
+            "SUM(CASE oi.free_reason WHEN 'NOT_FREE' THEN oi.pizza_price * oi.quantity " +
+            "WHEN 'LOYALTY' THEN oi.pizza_price * (oi.quantity - 1) ELSE 0 END) AS refund, " +
+            "SUM(CASE oi.free_reason WHEN 'LOYALTY' THEN :pointsPerFreePizza ELSE 0 END) AS points " +
+            "FROM orders o JOIN order_pizzas oi ON oi.order_id = o.order_id " +
+            "WHERE o.order_id IN (:orderIds) " +
+            "GROUP BY o.client_id) r ON r.client_id = c.client_id " +
+            "SET c.amount = c.amount + r.refund, c.loyalty_counter = c.loyalty_counter + r.points",
+            nativeQuery = true)
+    int creditLateDeliveryRefunds(@Param("orderIds") Collection<Integer> orderIds,
+                                  @Param("pointsPerFreePizza") int pointsPerFreePizza);
 }
@@ -0,0 +1,35 @@
+package fr.rapizz.repository;
+
+import fr.rapizz.model.DailyDriverDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyDriverDeliveryRepository extends JpaRepository<DailyDriverDelivery, DailyDriverDelivery.Key> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_driver_deliveries (stat_date, driver_id, delivery_count) " +
+            "VALUES (:statDate, :driverId, :delta) " +
+            "ON DUPLICATE KEY UPDATE delivery_count = delivery_count + VALUES(delivery_count)", nativeQuery = true)
+    void addCount(@Param("statDate") LocalDate statDate, @Param("driverId") Integer driverId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_driver_deliveries (stat_date, driver_id, delivery_count) " +
+            "SELECT DATE(order_date), driver_id, COUNT(*) FROM orders " +
+            "WHERE order_status = 'DELIVERED' AND driver_id IS NOT NULL " +
+            "GROUP BY DATE(order_date), driver_id", nativeQuery = true)
+    void backfill();
+
+    @Query("SELECT CONCAT(d.firstName, ' ', d.lastName) as driverName " +
+            "FROM DailyDriverDelivery r JOIN DeliveryDriver d ON d.driverId = r.driverId " +
+            "WHERE r.statDate >= :startDate " +
+            "GROUP BY d.driverId, d.firstName, d.lastName " +
+            "HAVING SUM(r.deliveryCount) > 0 " +
+            "ORDER BY SUM(r.deliveryCount) DESC")
+    List<String> findTopDrivers(@Param("startDate") LocalDate startDate);
+}
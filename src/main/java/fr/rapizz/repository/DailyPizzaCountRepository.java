@@ -0,0 +1,34 @@
+package fr.rapizz.repository;
+
+import fr.rapizz.model.DailyPizzaCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyPizzaCountRepository extends JpaRepository<DailyPizzaCount, DailyPizzaCount.Key> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_pizza_counts (stat_date, pizza_id, line_count) " +
+            "VALUES (:statDate, :pizzaId, :delta) " +
+            "ON DUPLICATE KEY UPDATE line_count = line_count + VALUES(line_count)", nativeQuery = true)
+    void addCount(@Param("statDate") LocalDate statDate, @Param("pizzaId") Integer pizzaId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_pizza_counts (stat_date, pizza_id, line_count) " +
+            "SELECT DATE(o.order_date), oi.pizza_id, COUNT(*) " +
+            "FROM order_pizzas oi JOIN orders o ON o.order_id = oi.order_id " +
+            "GROUP BY DATE(o.order_date), oi.pizza_id", nativeQuery = true)
+    void backfill();
+
+    @Query("SELECT p.pizzaName, SUM(r.lineCount) as orderCount " +
+            "FROM DailyPizzaCount r JOIN Pizza p ON p.pizzaId = r.pizzaId " +
+            "WHERE r.statDate >= :startDate " +
+            "GROUP BY p.pizzaName ORDER BY orderCount DESC")
+    List<Object[]> getMostPopularPizzas(@Param("startDate") LocalDate startDate, Pageable pageable);
+}
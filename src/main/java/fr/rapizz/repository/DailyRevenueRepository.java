@@ -0,0 +1,34 @@
+package fr.rapizz.repository;
+
+import fr.rapizz.model.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue (stat_date, revenue) VALUES (:statDate, :delta) " +
+            "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue)", nativeQuery = true)
+    void addRevenue(@Param("statDate") LocalDate statDate, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue (stat_date, revenue) " +
+            "SELECT DATE(o.order_date), SUM(oi.pizza_price * oi.quantity) " +
+            "FROM orders o JOIN order_pizzas oi ON oi.order_id = o.order_id " +
+            "WHERE o.order_status <> 'CANCELED' " +
+            "GROUP BY DATE(o.order_date)", nativeQuery = true)
+    void backfill();
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM DailyRevenue r WHERE r.statDate >= :startDate")
+    BigDecimal sumRevenue(@Param("startDate") LocalDate startDate);
+
+    @Query("SELECT r FROM DailyRevenue r WHERE r.statDate >= :startDate AND r.revenue > 0 ORDER BY r.statDate")
+    List<DailyRevenue> findSince(@Param("startDate") LocalDate startDate);
+}
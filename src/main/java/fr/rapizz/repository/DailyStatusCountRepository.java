@@ -0,0 +1,34 @@
+package fr.rapizz.repository;
+
+import fr.rapizz.model.DailyStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyStatusCountRepository extends JpaRepository<DailyStatusCount, DailyStatusCount.Key> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_status_counts (stat_date, order_status, order_count) " +
+            "VALUES (:statDate, :status, :delta) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count)", nativeQuery = true)
+    void addCount(@Param("statDate") LocalDate statDate, @Param("status") String status, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_status_counts (stat_date, order_status, order_count) " +
+            "SELECT DATE(order_date), order_status, COUNT(*) FROM orders " +
+            "GROUP BY DATE(order_date), order_status", nativeQuery = true)
+    void backfill();
+
+    @Query("SELECT COALESCE(SUM(r.orderCount), 0) FROM DailyStatusCount r WHERE r.statDate >= :startDate")
+    long sumCounts(@Param("startDate") LocalDate startDate);
+
+    @Query("SELECT r.orderStatus, SUM(r.orderCount) FROM DailyStatusCount r " +
+            "WHERE r.statDate >= :startDate " +
+            "GROUP BY r.orderStatus HAVING SUM(r.orderCount) > 0")
+    List<Object[]> sumCountsByStatus(@Param("startDate") LocalDate startDate);
+}
@@ -1,10 +1,15 @@
 package fr.rapizz.repository;
 
 import fr.rapizz.model.DeliveryDriver;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DeliveryDriverRepository extends JpaRepository<DeliveryDriver, Integer> {
-
+    @Query("SELECT d FROM DeliveryDriver d ORDER BY d.driverId")
+    List<DeliveryDriver> findPage(Pageable pageable);
 }
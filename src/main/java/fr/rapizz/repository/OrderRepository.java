@@ -1,15 +1,23 @@
 package fr.rapizz.repository;
 
+import fr.rapizz.dto.ActiveOrder;
+import fr.rapizz.dto.LateDeliveryRefund;
+import fr.rapizz.dto.OrderChange;
+import fr.rapizz.dto.OrderLineView;
+import fr.rapizz.dto.OrderView;
 import fr.rapizz.model.Order;
 import fr.rapizz.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
@@ -22,13 +30,78 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
            "WHERE o.orderStatus = :status")
     List<Order> findByOrderStatusWithDetails(@Param("status") OrderStatus status);
 
-    @Query("SELECT o FROM Order o " +
-            "LEFT JOIN FETCH o.client " +
-            "LEFT JOIN FETCH o.driver " +
-            "LEFT JOIN FETCH o.vehicle " +
-            "LEFT JOIN FETCH o.orderItems oi " +
-            "LEFT JOIN FETCH oi.pizza")
-    List<Order> findAllWithDetails();
+    /**
+     * Computes the late delivery compensation of each given order in a single aggregate query.
+     * Lines already compensated count for nothing.
+     * The amount follows the paid quantities of {@link fr.rapizz.service.OrderPricing#paidQuantity}.
+     */
+    @Query("SELECT new fr.rapizz.dto.LateDeliveryRefund(o.orderId, o.client.clientId, " +
+            "SUM(CASE WHEN oi.freeReason = fr.rapizz.model.FreeReason.NOT_FREE THEN oi.pizzaPrice * oi.quantity " +
+            "WHEN oi.freeReason = fr.rapizz.model.FreeReason.LOYALTY THEN oi.pizzaPrice * (oi.quantity - 1) " +
+            "ELSE 0 END), " +
+            "SUM(CASE WHEN oi.freeReason = fr.rapizz.model.FreeReason.LOYALTY THEN 1 ELSE 0 END)) " +
+            "FROM OrderPizza oi JOIN oi.order o " +
+            "WHERE o.orderId IN :orderIds " +
+            "GROUP BY o.orderId, o.client.clientId")
+    List<LateDeliveryRefund> findLateDeliveryRefunds(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Modifying
+    @Query(value = "UPDATE order_pizzas SET free_reason = 'LATE_DELIVERY' WHERE order_id IN (:orderIds)",
+            nativeQuery = true)
+    int markLateDeliveryCompensated(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Query("SELECT new fr.rapizz.dto.ActiveOrder(o.orderId, o.orderDate) FROM Order o " +
+            "WHERE o.orderStatus IN :statuses")
+    List<ActiveOrder> findActiveOrders(@Param("statuses") Collection<OrderStatus> statuses);
+
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    @Query("SELECT MAX(o.updatedAt) FROM Order o")
+    LocalDateTime findLastUpdate();
+
+    /**
+     * Lists the orders modified since the given time, by the index on {@code updated_at}.
+     */
+    @Query("SELECT new fr.rapizz.dto.OrderChange(o.orderId, o.orderStatus, o.orderDate, o.updatedAt) " +
+            "FROM Order o WHERE o.updatedAt >= :since ORDER BY o.updatedAt")
+    List<OrderChange> findChangesSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT o.driver.driverId FROM Order o WHERE o.orderStatus = :status AND o.driver IS NOT NULL")
+    List<Integer> findDriverIdsByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT o.vehicle.vehicleId FROM Order o WHERE o.orderStatus = :status AND o.vehicle IS NOT NULL")
+    List<Integer> findVehicleIdsByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT o.orderId FROM Order o " +
+            "WHERE o.orderStatus IN :statuses " +
+            "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Integer> findFirstPageIds(@Param("statuses") Collection<OrderStatus> statuses, Pageable pageable);
+
+    @Query("SELECT o.orderId FROM Order o " +
+            "WHERE o.orderStatus IN :statuses " +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.orderId < :orderId)) " +
+            "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Integer> findPageIdsAfter(@Param("statuses") Collection<OrderStatus> statuses,
+                                   @Param("orderDate") LocalDateTime orderDate,
+                                   @Param("orderId") Integer orderId,
+                                   Pageable pageable);
+
+    @Query("SELECT new fr.rapizz.dto.OrderView(o.orderId, c.clientId, o.orderDate, o.deliveredAt, o.orderStatus, " +
+            "c.firstName, c.lastName, c.clientAddress, d.firstName, d.lastName, v.licensePlate) " +
+            "FROM Order o " +
+            "LEFT JOIN o.client c " +
+            "LEFT JOIN o.driver d " +
+            "LEFT JOIN o.vehicle v " +
+            "WHERE o.orderId IN :ids " +
+            "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderView> findViewsByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new fr.rapizz.dto.OrderLineView(oi.order.orderId, p.pizzaName, oi.pizzaSize, " +
+            "oi.quantity, oi.pizzaPrice, oi.freeReason) " +
+            "FROM OrderPizza oi JOIN oi.pizza p " +
+            "WHERE oi.order.orderId IN :orderIds " +
+            "ORDER BY oi.orderItemId")
+    List<OrderLineView> findLineViewsByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
 
     @Query("SELECT o FROM Order o " +
             "LEFT JOIN FETCH o.client " +
@@ -38,31 +111,4 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
             "LEFT JOIN FETCH oi.pizza " +
             "WHERE o.orderStatus IN ('PENDING', 'IN_PROGRESS')")
     List<Order> findActiveOrdersWithDetails();
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.orderDate >= :startDate")
-    long countOrders(@Param("startDate") LocalDateTime startDate);
-
-    @Query("SELECT COALESCE(SUM(oi.pizzaPrice * oi.quantity), 0) " +
-            "FROM OrderPizza oi JOIN oi.order o " +
-            "WHERE o.orderDate >= :startDate AND o.orderStatus <> :canceledStatus")
-    BigDecimal calculateTotalRevenue(@Param("startDate") LocalDateTime startDate,
-                                     @Param("canceledStatus") OrderStatus canceledStatus);
-
-    @Query("SELECT o.orderStatus, COUNT(o) " +
-            "FROM Order o WHERE o.orderDate >= :startDate GROUP BY o.orderStatus")
-    List<Object[]> getOrderStatusCounts(@Param("startDate") LocalDateTime startDate);
-
-    @Query("SELECT CONCAT(d.firstName, ' ', d.lastName) as driverName " +
-            "FROM Order o JOIN o.driver d " +
-            "WHERE o.orderDate >= :startDate AND o.orderStatus = 'DELIVERED' " +
-            "GROUP BY d.driverId ORDER BY COUNT(o) DESC")
-    List<String> findTopDrivers(@Param("startDate") LocalDateTime startDate);
-
-    @Query("SELECT FUNCTION('DATE_FORMAT', o.orderDate, '%Y-%m-%d') as day, " +
-            "COALESCE(SUM(oi.pizzaPrice * oi.quantity), 0) as revenue " +
-            "FROM OrderPizza oi JOIN oi.order o " +
-            "WHERE o.orderDate >= :startDate AND o.orderStatus <> 'CANCELED' " +
-            "GROUP BY FUNCTION('DATE_FORMAT', o.orderDate, '%Y-%m-%d') " +
-            "ORDER BY day")
-    List<Object[]> getRevenueByDay(@Param("startDate") LocalDateTime startDate);
 }
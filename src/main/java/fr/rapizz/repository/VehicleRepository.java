@@ -1,10 +1,15 @@
 package fr.rapizz.repository;
 
 import fr.rapizz.model.Vehicle;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
-
+    @Query("SELECT v FROM Vehicle v ORDER BY v.vehicleId")
+    List<Vehicle> findPage(Pageable pageable);
 }
@@ -0,0 +1,122 @@
+package fr.rapizz.service;
+
+import fr.rapizz.dto.Availability;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.repository.OrderRepository;
+import fr.rapizz.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the drivers and vehicles assigned to an order in progress.
+ *
+ * <p>The registry is counted from two identifier projections of the orders in progress.
+ * Committed changes in or out of {@link OrderStatus#IN_PROGRESS} are numbered; the next read
+ * recounts if the published counts predate one of them. A recount notes the last change
+ * committed before its queries: every change it saw is numbered by then, so it is never
+ * counted twice, and a burst of changes costs a single recount. Readers get an immutable
+ * {@link Availability}.</p>
+ *
+ * <p>Orders modified by the other terminals are reported by {@link ChangePoller}, along with the
+ * changes of this terminal, which are remembered until polled back so as not to be counted again.</p>
+ */
+@Slf4j
+@Service
+public class AvailabilityRegistry {
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate recountTransaction;
+    private final AtomicLong changes = new AtomicLong();
+    // Status set by this terminal on each order it changed, until the poller sees the change
+    private final Map<Integer, OrderStatus> ownChanges = new ConcurrentHashMap<>();
+
+    private volatile Availability availability;
+    // Number of the last change included in the published availability
+    private volatile long counted;
+
+    public AvailabilityRegistry(OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.recountTransaction = new TransactionTemplate(transactionManager);
+        recountTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        recountTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the current availability, recounting it first if orders changed since the last count.
+     */
+    public Availability current() {
+        Availability current = availability;
+        if (current == null || counted < changes.get()) {
+            synchronized (this) {
+                current = availability;
+                if (current == null || counted < changes.get()) {
+                    current = recount();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Counts the assignments of the orders in progress.
+     *
+     * <p>The count runs in a transaction of its own, so that it reads every change committed
+     * before it started even when the caller's transaction holds an older snapshot.</p>
+     */
+    private synchronized Availability recount() {
+        long seen = changes.get();
+        Availability reloaded = recountTransaction.execute(status -> {
+            List<Integer> driverIds = orderRepository.findDriverIdsByStatus(OrderStatus.IN_PROGRESS);
+            List<Integer> vehicleIds = orderRepository.findVehicleIdsByStatus(OrderStatus.IN_PROGRESS);
+            log.debug("Availability registry counted: {} drivers and {} vehicles on delivery",
+                    driverIds.size(), vehicleIds.size());
+            return new Availability(toBitSet(driverIds), toBitSet(vehicleIds));
+        });
+        availability = reloaded;
+        counted = seen;
+        return reloaded;
+    }
+
+    /**
+     * Records a status change made by this terminal, once the current transaction commits
+     * (or right away outside a transaction). The next read recounts the assignments if the order
+     * entered or left {@link OrderStatus#IN_PROGRESS}.
+     */
+    public void onStatusChange(Integer orderId, OrderStatus oldStatus, OrderStatus newStatus) {
+        boolean moved = (oldStatus == OrderStatus.IN_PROGRESS) != (newStatus == OrderStatus.IN_PROGRESS);
+        AfterCommit.run(() -> {
+            ownChanges.put(orderId, newStatus);
+            if (moved) {
+                changes.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Records an order modified in the database, as polled by {@link ChangePoller}. The change
+     * calls for a recount unless this terminal made it, or the order is still pending: orders only
+     * move forward, so a pending order has never been in progress.
+     *
+     * @param status Status of the order after the modification
+     */
+    public void onPolledChange(Integer orderId, OrderStatus status) {
+        OrderStatus own = ownChanges.remove(orderId);
+        if (status != own && status != OrderStatus.PENDING) {
+            changes.incrementAndGet();
+        }
+    }
+
+    private static BitSet toBitSet(List<Integer> ids) {
+        BitSet occupied = new BitSet();
+        ids.forEach(occupied::set);
+        return occupied;
+    }
+}
@@ -0,0 +1,118 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Money;
+import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Order being drafted: its lines, each possibly paid with loyalty points, and its running totals.
+ *
+ * <p>Totals and loyalty points are updated as lines are added, removed or toggled, in constant
+ * time, with the rules of {@link OrderPricing}. The cart is handed as-is to the order placement,
+ * which copies its lines into the new order.</p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * OrderPizza line = cart.add(pizza, PizzaSize.OGRESSE, 2, catalog.centsOf(pizza, PizzaSize.OGRESSE));
+ * cart.setLoyalty(line, true);
+ * </pre>
+ * A cart is not thread-safe; the delivery form uses it on the Event Dispatch Thread.
+ */
+public class Cart {
+    private final List<OrderPizza> lines = new ArrayList<>();
+    private final OrderPricing pricing = new OrderPricing();
+
+    /**
+     * Adds a line, paid in full.
+     *
+     * @param unitCents Price of one pizza in cents, as given by the menu catalog
+     * @return The new line
+     */
+    public OrderPizza add(Pizza pizza, PizzaSize size, int quantity, long unitCents) {
+        OrderPizza line = new OrderPizza();
+        line.setPizza(pizza);
+        line.setPizzaSize(size);
+        line.setQuantity(quantity);
+        line.setPizzaPriceCents(unitCents);
+        line.setFreeReason(FreeReason.NOT_FREE);
+
+        lines.add(line);
+        pricing.add(unitCents, quantity, FreeReason.NOT_FREE);
+        return line;
+    }
+
+    public void remove(OrderPizza line) {
+        // Lines of a draft have no identifier yet, they are compared by identity
+        if (lines.removeIf(candidate -> candidate == line)) {
+            pricing.remove(line.getPizzaPriceCents(), line.getQuantity(), line.getFreeReason());
+        }
+    }
+
+    /**
+     * Pays one pizza of a line with loyalty points, or stops doing so.
+     */
+    public void setLoyalty(OrderPizza line, boolean loyalty) {
+        FreeReason freeReason = loyalty ? FreeReason.LOYALTY : FreeReason.NOT_FREE;
+        if (line.getFreeReason() == freeReason) {
+            return;
+        }
+        pricing.remove(line.getPizzaPriceCents(), line.getQuantity(), line.getFreeReason());
+        line.setFreeReason(freeReason);
+        pricing.add(line.getPizzaPriceCents(), line.getQuantity(), freeReason);
+    }
+
+    public void clear() {
+        for (OrderPizza line : lines) {
+            pricing.remove(line.getPizzaPriceCents(), line.getQuantity(), line.getFreeReason());
+        }
+        lines.clear();
+    }
+
+    public List<OrderPizza> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public Money total() {
+        return pricing.total();
+    }
+
+    public Money subtotal() {
+        return pricing.subtotal();
+    }
+
+    public Money loyaltyDiscount() {
+        return pricing.loyaltyDiscount();
+    }
+
+    public int freePizzas() {
+        return pricing.freePizzas();
+    }
+
+    /**
+     * @return The loyalty points the pizzas paid with points require
+     */
+    public int pointsRequired() {
+        return pricing.pointsSpent();
+    }
+
+    public int pointsEarned() {
+        return pricing.pointsEarned();
+    }
+
+    /**
+     * @return Whether a client with the given points can pay one more pizza with them
+     */
+    public boolean canUseLoyalty(int loyaltyCounter) {
+        return pointsRequired() + OrderPricing.LOYALTY_POINTS_PER_FREE_PIZZA <= loyaltyCounter;
+    }
+}
@@ -0,0 +1,159 @@
+package fr.rapizz.service;
+
+import fr.rapizz.dto.OrderChange;
+import fr.rapizz.dto.RowVersion;
+import fr.rapizz.event.ClientChanged;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.OrderChanged;
+import fr.rapizz.model.Client;
+import fr.rapizz.repository.ClientRepository;
+import fr.rapizz.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Picks up the orders and clients modified by the other terminals sharing the database.
+ *
+ * <p>Every second, one query per table lists the rows whose {@code updated_at} is past a cursor,
+ * using its index; nothing else is read unless a row changed. Changed rows are applied to the
+ * in-memory state of this terminal (availabilities, late deliveries, client search) and published
+ * as {@link OrderChanged} and {@link ClientChanged} events, so that the views update those rows
+ * only.</p>
+ *
+ * <p>{@code updated_at} is set when a row is written, not when its transaction commits, so a row
+ * may become visible after rows written later. The cursor therefore trails the last modification
+ * seen by {@link #COMMIT_LAG}, and rows already seen with the same timestamp are skipped. Changes
+ * made by this terminal are picked up as well: the availability registry recognizes them and
+ * does not recount, and applying them again elsewhere is harmless. Deleted clients are not
+ * detected.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangePoller {
+    static final Duration COMMIT_LAG = Duration.ofSeconds(5);
+
+    // Cursor of an empty table
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final ClientRepository clientRepository;
+    private final AvailabilityRegistry availabilityRegistry;
+    private final LateDeliveryMonitor lateDeliveryMonitor;
+    private final ClientSearchIndex searchIndex;
+    private final PhoneDirectory phoneDirectory;
+    private final DomainEventBus eventBus;
+
+    private final ChangeCursor orderCursor = new ChangeCursor();
+    private final ChangeCursor clientCursor = new ChangeCursor();
+
+    @Scheduled(fixedDelay = 1000)
+    public void poll() {
+        try {
+            pollOrders();
+            pollClients();
+        } catch (DataAccessException e) {
+            log.warn("Change polling failed: {}", e.getMessage());
+        }
+    }
+
+    private void pollOrders() {
+        LocalDateTime since = orderCursor.since(orderRepository::findLastUpdate);
+        List<OrderChange> changes = orderCursor.advance(orderRepository.findChangesSince(since),
+                OrderChange::orderId, OrderChange::updatedAt);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (OrderChange change : changes) {
+            availabilityRegistry.onPolledChange(change.orderId(), change.orderStatus());
+            if (LateDeliveryMonitor.ACTIVE_STATUSES.contains(change.orderStatus())) {
+                lateDeliveryMonitor.track(change.orderId(), change.orderDate());
+            } else {
+                lateDeliveryMonitor.untrack(change.orderId());
+            }
+            eventBus.publish(new OrderChanged(change.orderId()));
+        }
+        log.debug("{} changed orders picked up", changes.size());
+    }
+
+    private void pollClients() {
+        LocalDateTime since = clientCursor.since(clientRepository::findLastUpdate);
+        List<RowVersion> versions = clientCursor.advance(clientRepository.findVersionsUpdatedSince(since),
+                RowVersion::id, RowVersion::updatedAt);
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        List<Client> clients = clientRepository.findAllById(versions.stream().map(RowVersion::id).toList());
+        for (Client client : clients) {
+            searchIndex.put(client);
+            phoneDirectory.put(client);
+            eventBus.publish(new ClientChanged(client.getClientId(), false));
+        }
+        log.debug("{} changed clients picked up", clients.size());
+    }
+
+    /**
+     * Position of the poller in the modifications of one table.
+     */
+    private static final class ChangeCursor {
+        private final Map<Integer, LocalDateTime> seen = new HashMap<>();
+        private LocalDateTime since;
+        private boolean priming;
+
+        /**
+         * Returns the time to poll from, starting from the last modification of the table on the
+         * first call: the rows modified before are loaded by the views anyway.
+         */
+        private LocalDateTime since(Supplier<LocalDateTime> lastUpdate) {
+            if (since == null) {
+                LocalDateTime last = lastUpdate.get();
+                since = last != null ? last.minus(COMMIT_LAG) : ORIGIN;
+                priming = true;
+            }
+            return since;
+        }
+
+        /**
+         * Records the polled rows and moves the cursor.
+         *
+         * @return The rows not seen yet at their current timestamp
+         */
+        private <T> List<T> advance(List<T> rows, Function<T, Integer> idOf, Function<T, LocalDateTime> updatedAtOf) {
+            List<T> changed = new ArrayList<>();
+            for (T row : rows) {
+                LocalDateTime updatedAt = updatedAtOf.apply(row);
+                if (!updatedAt.equals(seen.put(idOf.apply(row), updatedAt))) {
+                    changed.add(row);
+                }
+                LocalDateTime trailing = updatedAt.minus(COMMIT_LAG);
+                if (trailing.isAfter(since)) {
+                    since = trailing;
+                }
+            }
+
+            // Rows older than the cursor are no longer returned
+            LocalDateTime horizon = since;
+            seen.values().removeIf(updatedAt -> updatedAt.isBefore(horizon));
+
+            if (priming) {
+                priming = false;
+                return List.of();
+            }
+            return changed;
+        }
+    }
+}
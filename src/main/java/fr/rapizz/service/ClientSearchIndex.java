@@ -0,0 +1,184 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.Client;
+import fr.rapizz.repository.ClientRepository;
+import fr.rapizz.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory substring index over the searchable fields of the clients: first name, last name,
+ * address and phone number.
+ *
+ * <p>Every field is split into trigrams, each mapped to the clients containing it. A search
+ * intersects the postings of the trigrams of the query, starting with the rarest, and checks the
+ * remaining candidates against the fields. Queries shorter than a trigram scan the clients until
+ * enough matches are found.</p>
+ * <p>
+ * The index is built from the database on first use, then kept up to date by
+ * {@link ClientService} as clients are saved and deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientSearchIndex {
+    /** Maximum number of clients returned by a search. */
+    public static final int MAX_RESULTS = 200;
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ClientRepository clientRepository;
+
+    private final NavigableMap<Integer, String[]> fieldsByClient = new TreeMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Finds the clients having a field that contains the given text, ignoring case.
+     *
+     * @return Identifiers of at most {@link #MAX_RESULTS} matching clients, in ascending order
+     */
+    public synchronized List<Integer> search(String text) {
+        ensureLoaded();
+        String query = normalize(text);
+
+        List<Integer> matches = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            // Clients are scanned in identifier order, so the first matches are the ones to return
+            for (Map.Entry<Integer, String[]> entry : fieldsByClient.entrySet()) {
+                if (matches(entry.getValue(), query) && matches.add(entry.getKey())
+                        && matches.size() == MAX_RESULTS) {
+                    break;
+                }
+            }
+        } else {
+            for (Integer clientId : candidates(query)) {
+                if (matches(fieldsByClient.get(clientId), query)) {
+                    matches.add(clientId);
+                }
+            }
+        }
+
+        matches.sort(null);
+        return matches.size() > MAX_RESULTS ? List.copyOf(matches.subList(0, MAX_RESULTS)) : matches;
+    }
+
+    /**
+     * Indexes a created or updated client, once the current transaction commits.
+     */
+    public void put(Client client) {
+        Integer clientId = client.getClientId();
+        String[] fields = fieldsOf(client);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    unindex(clientId);
+                    index(clientId, fields);
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted client from the index, once the current transaction commits.
+     */
+    public void remove(Integer clientId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                unindex(clientId);
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<Client> clients = clientRepository.findAll();
+        clients.forEach(client -> index(client.getClientId(), fieldsOf(client)));
+        loaded = true;
+        log.info("Client search index built: {} clients, {} trigrams", fieldsByClient.size(), postings.size());
+    }
+
+    private Set<Integer> candidates(String query) {
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Integer> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Integer> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return candidates;
+    }
+
+    private void index(Integer clientId, String[] fields) {
+        fieldsByClient.put(clientId, fields);
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(clientId);
+            }
+        }
+    }
+
+    private void unindex(Integer clientId) {
+        String[] fields = fieldsByClient.remove(clientId);
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting != null && posting.remove(clientId) && posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String[] fieldsOf(Client client) {
+        return new String[] {
+                normalize(client.getFirstName()),
+                normalize(client.getLastName()),
+                normalize(client.getClientAddress()),
+                normalize(client.getPhoneNumber())
+        };
+    }
+
+    private static boolean matches(String[] fields, String query) {
+        for (String field : fields) {
+            if (field.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+}
@@ -1,8 +1,13 @@
 package fr.rapizz.service;
 
+import fr.rapizz.event.ClientBalanceChanged;
+import fr.rapizz.event.ClientChanged;
+import fr.rapizz.event.DomainEventBus;
 import fr.rapizz.model.Client;
 import fr.rapizz.repository.ClientRepository;
+import fr.rapizz.util.PhoneNumbers;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,6 +15,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,44 +25,98 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class ClientService {
     private final ClientRepository repository;
+    private final ClientSearchIndex searchIndex;
+    private final PhoneDirectory phoneDirectory;
+    private final DomainEventBus eventBus;
 
     public List<Client> findAll() {
         return repository.findAll();
     }
 
+    public long count() {
+        return repository.count();
+    }
+
+    public List<Client> findPage(int pageIndex, int pageSize) {
+        return repository.findPage(PageRequest.of(pageIndex, pageSize));
+    }
+
+    /**
+     * Finds the clients whose name, address or phone number contains the given text.
+     *
+     * @return At most {@link ClientSearchIndex#MAX_RESULTS} clients, by identifier
+     */
+    public List<Client> search(String text) {
+        List<Integer> clientIds = searchIndex.search(text);
+        return repository.findAllById(clientIds).stream()
+                .sorted(Comparator.comparing(Client::getClientId))
+                .toList();
+    }
+
     public Optional<Client> findById(Integer id) {
         return repository.findById(id);
     }
 
+    /**
+     * Finds the given clients in a single query; missing clients are left out.
+     */
+    public List<Client> findAllById(Collection<Integer> ids) {
+        return repository.findAllById(ids);
+    }
+
+    /**
+     * Finds a client by phone number, whatever its format.
+     */
+    public Optional<Client> findByPhone(String phoneNumber) {
+        String digits = PhoneNumbers.normalize(phoneNumber);
+        return digits.isEmpty() ? Optional.empty() : repository.findByPhoneDigits(digits);
+    }
+
     @Transactional
     public Client save(Client client) {
-        return repository.save(client);
+        Client saved = repository.save(client);
+        searchIndex.put(saved);
+        phoneDirectory.put(saved);
+        eventBus.publish(new ClientChanged(saved.getClientId(), false));
+        return saved;
     }
 
     @Transactional
     public Client update(Client client) {
-        return repository.save(client);
+        Client updated = repository.save(client);
+        searchIndex.put(updated);
+        phoneDirectory.put(updated);
+        eventBus.publish(new ClientChanged(updated.getClientId(), false));
+        return updated;
     }
 
     @Transactional
     public void delete(Client client) {
         repository.delete(client);
+        searchIndex.remove(client.getClientId());
+        phoneDirectory.remove(client.getClientId());
+        eventBus.publish(new ClientChanged(client.getClientId(), true));
     }
 
     @Transactional
     public void deleteById(Integer id) {
         repository.deleteById(id);
+        searchIndex.remove(id);
+        phoneDirectory.remove(id);
+        eventBus.publish(new ClientChanged(id, true));
     }
 
     @Transactional
     public Client incrementLoyaltyCounter(Client client, int count) {
         repository.incrementLoyaltyCounter(client.getClientId(), count);
+        eventBus.publish(new ClientBalanceChanged(client.getClientId()));
         return repository.findById(client.getClientId()).orElseThrow();
     }
 
     @Transactional
     public Client resetLoyaltyCounter(Client client) {
         repository.resetLoyaltyCounter(client.getClientId());
+        eventBus.publish(new ClientBalanceChanged(client.getClientId()));
         return repository.findById(client.getClientId()).orElseThrow();
     }
 
@@ -64,10 +125,38 @@ public class ClientService {
         Client client = repository.findById(clientId).orElseThrow();
         client.setLoyaltyCounter(newCount);
         repository.save(client);
+        eventBus.publish(new ClientBalanceChanged(clientId));
     }
 
     @Transactional
     public void updateAmount(Integer clientId, BigDecimal newAmount) {
         repository.updateAmount(clientId, newAmount);
+        eventBus.publish(new ClientBalanceChanged(clientId));
+    }
+
+    /**
+     * Atomically charges an order to a client.
+     *
+     * @return {@code true} if the client could afford the order and was charged
+     * @see ClientRepository#debitForOrder(Integer, BigDecimal, int, int)
+     */
+    @Transactional
+    public boolean debitForOrder(Integer clientId, BigDecimal total, int pointsSpent, int pointsEarned) {
+        boolean charged = repository.debitForOrder(clientId, total, pointsSpent, pointsEarned) == 1;
+        if (charged) {
+            eventBus.publish(new ClientBalanceChanged(clientId));
+        }
+        return charged;
+    }
+
+    /**
+     * Credits the late delivery compensation of a set of orders in one statement.
+     *
+     * @return The number of credited clients
+     * @see ClientRepository#creditLateDeliveryRefunds(Collection, int)
+     */
+    @Transactional
+    public int creditLateDeliveryRefunds(Collection<Integer> orderIds, int pointsPerFreePizza) {
+        return repository.creditLateDeliveryRefunds(orderIds, pointsPerFreePizza);
     }
 }
@@ -1,14 +1,17 @@
 package fr.rapizz.service;
 
+import fr.rapizz.dto.Availability;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.DriverChanged;
 import fr.rapizz.model.DeliveryDriver;
 import fr.rapizz.repository.DeliveryDriverRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,18 +19,26 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DeliveryDriverService {
     private final DeliveryDriverRepository repository;
-    private final OrderService orderService;
+    private final AvailabilityRegistry availabilityRegistry;
+    private final DomainEventBus eventBus;
 
     public List<DeliveryDriver> findAll() {
         return repository.findAll();
     }
 
+    public long count() {
+        return repository.count();
+    }
+
+    public List<DeliveryDriver> findPage(int pageIndex, int pageSize) {
+        return repository.findPage(PageRequest.of(pageIndex, pageSize));
+    }
+
     public List<DeliveryDriver> findAvailableDrivers() {
-        List<DeliveryDriver> allDrivers = findAll();
-        Set<Integer> occupiedDriverIds = orderService.getOccupiedDriverIds();
+        Availability availability = availabilityRegistry.current();
 
-        return allDrivers.stream()
-                .filter(driver -> !occupiedDriverIds.contains(driver.getDriverId()))
+        return findAll().stream()
+                .filter(driver -> availability.isDriverAvailable(driver.getDriverId()))
                 .collect(Collectors.toList());
     }
 
@@ -37,16 +48,21 @@ public class DeliveryDriverService {
 
     @Transactional
     public DeliveryDriver save(DeliveryDriver driver) {
-        return repository.save(driver);
+        DeliveryDriver saved = repository.save(driver);
+        eventBus.publish(new DriverChanged(saved.getDriverId(), false));
+        return saved;
     }
 
     @Transactional
     public DeliveryDriver update(DeliveryDriver driver) {
-        return repository.save(driver);
+        DeliveryDriver updated = repository.save(driver);
+        eventBus.publish(new DriverChanged(updated.getDriverId(), false));
+        return updated;
     }
 
     @Transactional
     public void deleteById(Integer id) {
         repository.deleteById(id);
+        eventBus.publish(new DriverChanged(id, true));
     }
 }
\ No newline at end of file
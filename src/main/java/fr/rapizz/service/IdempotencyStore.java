@@ -0,0 +1,66 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.Order;
+import fr.rapizz.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Remembers the orders recently placed with an idempotency key, so that a retried submission
+ * returns the original order without any query.
+ *
+ * <p>Holds at most {@link #MAX_ENTRIES} orders, the least recently used being evicted first, each
+ * for {@link #TIME_TO_LIVE}. Forgotten keys are still found in the {@code idempotency_key} column,
+ * whose unique index is the actual guarantee.</p>
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    public static final int MAX_ENTRIES = 10_000;
+    public static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES || eldest.getValue().isExpired(Instant.now());
+        }
+    };
+
+    /**
+     * Returns the order placed with the given key, if remembered.
+     */
+    public synchronized Optional<Order> find(String idempotencyKey) {
+        Entry entry = entries.get(idempotencyKey);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(Instant.now())) {
+            entries.remove(idempotencyKey);
+            return Optional.empty();
+        }
+        return Optional.of(entry.order());
+    }
+
+    /**
+     * Remembers an order placed with a key, once the current transaction commits.
+     */
+    public void put(String idempotencyKey, Order order) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                entries.put(idempotencyKey, new Entry(order, Instant.now().plus(TIME_TO_LIVE)));
+            }
+        });
+    }
+
+    private record Entry(Order order, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.OrderStatus;
+import lombok.Getter;
+
+/**
+ * Refusal of a status change not allowed by {@link OrderStatus#canChangeTo(OrderStatus)},
+ * e.g. a delivered order set back to pending. Raised before the order is modified.
+ */
+@Getter
+public class IllegalStatusChangeException extends RuntimeException {
+    private final Integer orderId;
+
+    public IllegalStatusChangeException(Integer orderId, OrderStatus from, OrderStatus to) {
+        super(messageFor(orderId, from, to));
+        this.orderId = orderId;
+    }
+
+    /**
+     * @return The refusal shown to the operators for this change
+     */
+    public static String messageFor(Integer orderId, OrderStatus from, OrderStatus to) {
+        return "Changement de statut impossible pour la commande #" + orderId + ": "
+                + from.getDisplayName() + " → " + to.getDisplayName();
+    }
+}
@@ -0,0 +1,150 @@
+package fr.rapizz.service;
+
+import fr.rapizz.dto.ActiveOrder;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.repository.OrderRepository;
+import fr.rapizz.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Detects active orders exceeding the promised delivery time.
+ *
+ * <p>Orders waiting or on the road are kept in a priority queue ordered by the instant they
+ * become late. A scheduled sweep only looks at the head of the queue, so an order is examined
+ * once when its deadline passes rather than on every rendering. Orders leaving the active
+ * statuses are forgotten; their queue entry is dropped when it reaches the head.</p>
+ * <p>
+ * Listeners receive the identifiers of the orders that became late during a sweep. They are
+ * called from the scheduler thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LateDeliveryMonitor {
+    public static final int PROMISED_DELIVERY_TIME_MINUTES = 30;
+
+    static final Set<OrderStatus> ACTIVE_STATUSES = EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PROGRESS);
+
+    private final OrderRepository orderRepository;
+
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>(Comparator.comparing(Deadline::lateAt));
+    private final Set<Integer> onTime = new HashSet<>();
+    private final Set<Integer> late = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<List<Integer>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded;
+
+    /**
+     * Instant from which an order created at the given date is late. Elapsed time is counted
+     * in whole minutes, so an order becomes late once the 31st minute begins.
+     */
+    public static LocalDateTime lateAt(LocalDateTime orderDate) {
+        return orderDate.plusMinutes(PROMISED_DELIVERY_TIME_MINUTES + 1);
+    }
+
+    /**
+     * Never reads the database, so that it can be called while painting. Until the first sweep
+     * has loaded the active orders no order is late; that sweep reports those already late.
+     *
+     * @return {@code true} if the active order has exceeded the promised delivery time
+     */
+    public boolean isLate(Integer orderId) {
+        return late.contains(orderId);
+    }
+
+    public void addListener(Consumer<List<Integer>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<List<Integer>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching a new active order, once the current transaction commits. An order already
+     * watched, on time or late, is left as is so that it is reported late only once.
+     */
+    public void track(Integer orderId, LocalDateTime orderDate) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                if (loaded && !late.contains(orderId) && onTime.add(orderId)) {
+                    deadlines.add(new Deadline(orderId, lateAt(orderDate)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops watching an order that is no longer active, once the current transaction commits.
+     */
+    public void untrack(Integer orderId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                onTime.remove(orderId);
+                late.remove(orderId);
+            }
+        });
+    }
+
+    /**
+     * Moves the orders whose deadline has passed to the late set and notifies the listeners.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void sweep() {
+        List<Integer> nowLate = new ArrayList<>();
+
+        synchronized (this) {
+            ensureLoaded();
+            LocalDateTime now = LocalDateTime.now();
+            while (!deadlines.isEmpty() && !deadlines.peek().lateAt().isAfter(now)) {
+                Integer orderId = deadlines.poll().orderId();
+                if (onTime.remove(orderId)) {
+                    late.add(orderId);
+                    nowLate.add(orderId);
+                }
+            }
+        }
+
+        if (!nowLate.isEmpty()) {
+            log.info("Orders now late: {}", nowLate);
+            List<Integer> orderIds = List.copyOf(nowLate);
+            for (Consumer<List<Integer>> listener : listeners) {
+                try {
+                    listener.accept(orderIds);
+                } catch (RuntimeException e) {
+                    log.error("Late delivery listener failed", e);
+                }
+            }
+        }
+    }
+
+    private synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<ActiveOrder> activeOrders = orderRepository.findActiveOrders(ACTIVE_STATUSES);
+        for (ActiveOrder order : activeOrders) {
+            onTime.add(order.orderId());
+            deadlines.add(new Deadline(order.orderId(), lateAt(order.orderDate())));
+        }
+        loaded = true;
+        log.info("Late delivery monitor watching {} active orders", activeOrders.size());
+    }
+
+    private record Deadline(Integer orderId, LocalDateTime lateAt) {
+    }
+}
@@ -0,0 +1,145 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.Money;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+import fr.rapizz.repository.PizzaRepository;
+import fr.rapizz.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory catalog of the menu: pizzas with their ingredients and the price of every size.
+ *
+ * <p>The catalog is loaded once into an immutable {@link Snapshot}; reads and price lookups
+ * never touch the database nor compute anything. When the menu changes, {@link #reload()}
+ * builds a complete new snapshot with the next version number and publishes it in a single
+ * write, so readers always see either the old or the new menu, never a mix.</p>
+ *
+ * <p>Pizzas of a snapshot are detached entities shared by every reader: they must not be modified.</p>
+ */
+@Slf4j
+@Service
+public class MenuCatalog {
+    private final PizzaRepository repository;
+    private final TransactionTemplate reloadTransaction;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public MenuCatalog(PizzaRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        reloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        reloadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the current snapshot, loading the menu on first use.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    public List<Pizza> pizzas() {
+        return current().pizzas();
+    }
+
+    public BigDecimal priceOf(Pizza pizza, PizzaSize size) {
+        return current().priceOf(pizza, size);
+    }
+
+    public long centsOf(Pizza pizza, PizzaSize size) {
+        return current().centsOf(pizza, size);
+    }
+
+    /**
+     * Reads the menu from the database and publishes it as a new snapshot.
+     */
+    public synchronized Snapshot reload() {
+        List<Pizza> pizzas = repository.findAllWithIngredients();
+        Snapshot loaded = new Snapshot(versions.incrementAndGet(), pizzas);
+        snapshot = loaded;
+        log.info("Menu catalog version {} loaded with {} pizzas", loaded.version(), pizzas.size());
+        return loaded;
+    }
+
+    /**
+     * Reloads the catalog once the current transaction commits, or right away outside a transaction.
+     *
+     * <p>After the commit, the resources of the finished transaction are still bound to the thread
+     * but can no longer commit: the menu is read in a new transaction of its own.</p>
+     */
+    public void reloadAfterCommit() {
+        AfterCommit.run(() -> reloadTransaction.executeWithoutResult(status -> reload()));
+    }
+
+    /**
+     * Immutable version of the menu.
+     */
+    public static final class Snapshot {
+        private static final PizzaSize[] SIZES = PizzaSize.values();
+
+        private final long version;
+        private final List<Pizza> pizzas;
+        // Price in cents of every size of a pizza, indexed by PizzaSize.ordinal()
+        private final Map<Integer, long[]> prices;
+
+        private Snapshot(long version, List<Pizza> pizzas) {
+            this.version = version;
+            this.pizzas = List.copyOf(pizzas);
+
+            Map<Integer, long[]> table = new HashMap<>(pizzas.size() * 2);
+            for (Pizza pizza : pizzas) {
+                long[] sizePrices = new long[SIZES.length];
+                for (PizzaSize size : SIZES) {
+                    sizePrices[size.ordinal()] = Money.centsOf(size.priceFor(pizza.getBasePrice()));
+                }
+                table.put(pizza.getPizzaId(), sizePrices);
+            }
+            this.prices = Map.copyOf(table);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public List<Pizza> pizzas() {
+            return pizzas;
+        }
+
+        /**
+         * Returns the price of a pizza in the given size, for display.
+         */
+        public BigDecimal priceOf(Pizza pizza, PizzaSize size) {
+            return BigDecimal.valueOf(centsOf(pizza, size), 2);
+        }
+
+        /**
+         * Returns the price in cents of a pizza in the given size. A pizza missing from this
+         * snapshot (e.g. created since) is priced from its own base price.
+         */
+        public long centsOf(Pizza pizza, PizzaSize size) {
+            long[] sizePrices = prices.get(pizza.getPizzaId());
+            return sizePrices != null ? sizePrices[size.ordinal()] : Money.centsOf(size.priceFor(pizza.getBasePrice()));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package fr.rapizz.service;
+
+import fr.rapizz.dto.OrderDraft;
+import fr.rapizz.model.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places the new orders of all callers in shared transactions (group commit).
+ *
+ * <p>Orders are queued, then placed by a single thread in batches of up to {@link #MAX_BATCH_SIZE}
+ * orders, waiting at most {@link #MAX_BATCH_DELAY} after the first one. A batch commits once, and
+ * its inserts are sent as JDBC batches; under a rush, the throughput is no longer capped by the
+ * commit rate of the database, while an order waits at most the delay plus one transaction.</p>
+ *
+ * <p>Each caller gets the outcome of its own order. An order the client cannot afford is rejected
+ * with the {@link OrderRejectedException} of {@link OrderService#placeOrder(OrderDraft)} without
+ * affecting the rest of the batch. Should the batch transaction fail for another reason, its
+ * orders are placed again one transaction each, so that a faulty order only fails its caller.
+ * Orders are queued as immutable drafts: every attempt builds its own entities, none of which
+ * outlives a rolled back transaction. Results are delivered once the transaction has committed.</p>
+ */
+@Slf4j
+@Service
+public class OrderIntakeQueue {
+    public static final int MAX_BATCH_SIZE = 32;
+    public static final Duration MAX_BATCH_DELAY = Duration.ofMillis(5);
+    private static final int CAPACITY = 1024;
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Intake> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final Thread flusher = new Thread(this::run, "order-intake");
+    private volatile boolean running = true;
+
+    public OrderIntakeQueue(OrderService orderService, PlatformTransactionManager transactionManager) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(Duration.ofSeconds(5));
+
+        List<Intake> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(intake -> intake.result().completeExceptionally(
+                new OrderRejectedException("Service de commande arrêté")));
+    }
+
+    /**
+     * Queues a new order for placement.
+     *
+     * @param draft New order
+     * @return The saved order, or an {@link OrderRejectedException} if it was rejected
+     * @see OrderService#placeOrder(OrderDraft)
+     */
+    public CompletableFuture<Order> submit(OrderDraft draft) {
+        Intake intake = new Intake(draft, new CompletableFuture<>());
+        if (!running || !queue.offer(intake)) {
+            intake.result().completeExceptionally(
+                    new OrderRejectedException("Trop de commandes en attente, veuillez réessayer"));
+        }
+        return intake.result();
+    }
+
+    private void run() {
+        List<Intake> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                batch.forEach(intake -> intake.result().completeExceptionally(
+                        new OrderRejectedException("Service de commande arrêté")));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake failed", e);
+                batch.forEach(intake -> intake.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for an order, then gathers the orders arriving until the batch is full or its delay expired.
+     */
+    private void collect(List<Intake> batch) throws InterruptedException {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + MAX_BATCH_DELAY.toNanos();
+
+        while (batch.size() < MAX_BATCH_SIZE) {
+            if (queue.drainTo(batch, MAX_BATCH_SIZE - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            Intake next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Intake> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> batch.stream().map(this::place).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batch of {} orders failed, placing them one by one: {}", batch.size(), e.getMessage());
+            for (Intake intake : batch) {
+                flush(List.of(intake));
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            outcomes.get(i).complete(batch.get(i).result());
+        }
+        log.debug("Batch of {} orders committed", batch.size());
+    }
+
+    private Outcome place(Intake intake) {
+        try {
+            return new Outcome(orderService.placeOrder(intake.draft()), null);
+        } catch (OrderRejectedException rejection) {
+            // Nothing was written for this order, the rest of the batch commits
+            return new Outcome(null, rejection);
+        }
+    }
+
+    private record Intake(OrderDraft draft, CompletableFuture<Order> result) {
+    }
+
+    private record Outcome(Order order, OrderRejectedException rejection) {
+        void complete(CompletableFuture<Order> result) {
+            if (rejection != null) {
+                result.completeExceptionally(rejection);
+            } else {
+                result.complete(order);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.rapizz.service;
+
+import fr.rapizz.dto.OrderLineView;
+import fr.rapizz.dto.OrderView;
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Money;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+
+/**
+ * Prices an order from its lines: amount due, loyalty discount, and loyalty points spent and earned.
+ *
+ * <p>Single implementation of the pricing rules, by {@link FreeReason} of each line:</p>
+ * <ul>
+ *   <li>{@code NOT_FREE}: every pizza of the line is paid;</li>
+ *   <li>{@code LOYALTY}: one pizza is paid with {@value #LOYALTY_POINTS_PER_FREE_PIZZA} loyalty points,
+ *       the others are paid;</li>
+ *   <li>{@code LATE_DELIVERY}: the order was refunded for a late delivery and costs nothing.</li>
+ * </ul>
+ * <p>Each paid pizza earns one loyalty point.</p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * Money total = OrderPricing.of(order).total();
+ * </pre>
+ * Prices are read in cents, as kept by the order lines, the views and the menu catalog: a pricing
+ * accumulates primitives and adding or removing a line allocates nothing.
+ */
+public final class OrderPricing {
+    public static final int LOYALTY_POINTS_PER_FREE_PIZZA = 10;
+
+    private long dueCents;
+    private long discountCents;
+    private int freePizzas;
+    private int pointsEarned;
+    private int refundedLines;
+
+    public static OrderPricing of(Order order) {
+        OrderPricing pricing = new OrderPricing();
+        for (OrderPizza item : order.getOrderItems()) {
+            pricing.add(item.getPizzaPriceCents(), item.getQuantity(), item.getFreeReason());
+        }
+        return pricing;
+    }
+
+    public static OrderPricing of(OrderView order) {
+        OrderPricing pricing = new OrderPricing();
+        for (OrderLineView item : order.items()) {
+            pricing.add(item.pizzaPriceCents(), item.quantity(), item.freeReason());
+        }
+        return pricing;
+    }
+
+    /**
+     * @return The number of pizzas of a line the client pays for
+     */
+    public static int paidQuantity(int quantity, FreeReason freeReason) {
+        return switch (freeReason) {
+            case NOT_FREE -> quantity;
+            case LOYALTY -> quantity - 1;
+            case LATE_DELIVERY -> 0;
+        };
+    }
+
+    public OrderPricing add(long unitCents, int quantity, FreeReason freeReason) {
+        return apply(unitCents, quantity, freeReason, 1);
+    }
+
+    /**
+     * Takes back a line previously added with the same values.
+     */
+    public OrderPricing remove(long unitCents, int quantity, FreeReason freeReason) {
+        return apply(unitCents, quantity, freeReason, -1);
+    }
+
+    private OrderPricing apply(long unitCents, int quantity, FreeReason freeReason, int sign) {
+        int paid = paidQuantity(quantity, freeReason);
+        dueCents = Math.addExact(dueCents, sign * Math.multiplyExact(unitCents, paid));
+        pointsEarned += sign * paid;
+
+        if (freeReason == FreeReason.LOYALTY) {
+            discountCents = Math.addExact(discountCents, sign * unitCents);
+            freePizzas += sign;
+        } else if (freeReason == FreeReason.LATE_DELIVERY) {
+            refundedLines += sign;
+        }
+        return this;
+    }
+
+    /**
+     * @return The amount to pay, nothing for an order refunded for a late delivery
+     */
+    public Money total() {
+        return refundedLines > 0 ? Money.ZERO : Money.ofCents(dueCents);
+    }
+
+    /**
+     * @return The total before the loyalty discount
+     */
+    public Money subtotal() {
+        return refundedLines > 0 ? Money.ZERO : Money.ofCents(Math.addExact(dueCents, discountCents));
+    }
+
+    /**
+     * @return The price of the pizzas paid with loyalty points
+     */
+    public Money loyaltyDiscount() {
+        return Money.ofCents(discountCents);
+    }
+
+    public int freePizzas() {
+        return freePizzas;
+    }
+
+    public int pointsSpent() {
+        return freePizzas * LOYALTY_POINTS_PER_FREE_PIZZA;
+    }
+
+    public int pointsEarned() {
+        return pointsEarned;
+    }
+}
@@ -0,0 +1,16 @@
+package fr.rapizz.service;
+
+/**
+ * Refusal of a new order, e.g. a client unable to afford it, raised before anything was written
+ * for it.
+ *
+ * <p>Only this exception leaves the transaction placing the order committable, so that the
+ * orders placed along with it still commit; any other failure rolls the transaction back.</p>
+ *
+ * @see OrderService#placeOrder(fr.rapizz.dto.OrderDraft)
+ */
+public class OrderRejectedException extends RuntimeException {
+    public OrderRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,38 @@
 package fr.rapizz.service;
 
+import fr.rapizz.dto.LateDeliveryRefund;
+import fr.rapizz.dto.OrderCursor;
+import fr.rapizz.dto.OrderDraft;
+import fr.rapizz.dto.OrderLineView;
+import fr.rapizz.dto.OrderPage;
+import fr.rapizz.dto.OrderView;
+import fr.rapizz.event.ClientBalanceChanged;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.OrderPlaced;
+import fr.rapizz.event.OrderStatusChanged;
+import fr.rapizz.model.DeliveryDriver;
 import fr.rapizz.model.Order;
-import fr.rapizz.model.OrderStatus;
 import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.Vehicle;
 import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Money;
  import fr.rapizz.model.Client;
 import fr.rapizz.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,11 +49,56 @@ import java.math.BigDecimal;
 public class OrderService {
     private final OrderRepository repository;
     private final ClientService clientService;
+    private final StatisticsRollupService rollupService;
+    private final AvailabilityRegistry availabilityRegistry;
+    private final LateDeliveryMonitor lateDeliveryMonitor;
+    private final DomainEventBus eventBus;
+    private final IdempotencyStore idempotencyStore;
+    private final EntityManager entityManager;
+
+    /**
+     * Returns one page of orders having one of the given statuses, newest first.
+     *
+     * <p>Pages are addressed by a keyset cursor on {@code (orderDate, orderId)} rather
+     * than an offset, so fetching any page costs the same whatever the history size.
+     * Only the identifiers of the page are selected with a limit; the page is then
+     * read as {@link OrderView} projections, without loading any entity.</p>
+     *
+     * @param statuses Statuses to include
+     * @param after    Cursor returned with the previous page, or {@code null} for the first page
+     * @param pageSize Maximum number of orders to return
+     */
+    public OrderPage<OrderView> findPage(Collection<OrderStatus> statuses, OrderCursor after, int pageSize) {
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Integer> ids = after == null
+                ? repository.findFirstPageIds(statuses, limit)
+                : repository.findPageIdsAfter(statuses, after.orderDate(), after.orderId(), limit);
+
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+        if (ids.isEmpty()) {
+            return new OrderPage<>(List.of(), null);
+        }
 
-    private static final int PROMISED_DELIVERY_TIME_MINUTES = 30;
+        List<OrderView> orders = findViews(ids);
+        OrderView last = orders.get(orders.size() - 1);
+        OrderCursor next = hasNext ? new OrderCursor(last.orderDate(), last.orderId()) : null;
+        return new OrderPage<>(orders, next);
+    }
 
-    public List<Order> findAll() {
-        return repository.findAllWithDetails();
+    /**
+     * Reads the given orders as immutable views, ordered newest first.
+     * Costs two queries whatever the number of orders.
+     */
+    public List<OrderView> findViews(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderLineView>> linesByOrder = repository.findLineViewsByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLineView::orderId));
+
+        return repository.findViewsByIds(orderIds).stream()
+                .map(view -> view.withItems(linesByOrder.getOrDefault(view.orderId(), List.of())))
+                .toList();
     }
 
     public List<Order> findByStatus(OrderStatus status) {
@@ -50,171 +114,262 @@ public class OrderService {
     }
 
     public boolean isLateDelivery(Order order) {
-        if (order.getOrderStatus() == OrderStatus.DELIVERED && order.getDeliveredAt() != null) {
-            long actualMinutes = Duration.between(order.getOrderDate(), order.getDeliveredAt()).toMinutes();
-            return actualMinutes > PROMISED_DELIVERY_TIME_MINUTES;
-        } else if (order.getOrderStatus() == OrderStatus.IN_PROGRESS || order.getOrderStatus() == OrderStatus.PENDING) {
-            long elapsedMinutes = Duration.between(order.getOrderDate(), LocalDateTime.now()).toMinutes();
-            return elapsedMinutes > PROMISED_DELIVERY_TIME_MINUTES;
-        }
-        return false;
+        return isLateDelivery(order.getOrderId(), order.getOrderStatus(), order.getOrderDate(), order.getDeliveredAt());
     }
 
-    public double calculateOrderTotal(Order order) {
-        boolean hasLateDeliveryCompensation = order.getOrderItems().stream()
-                .anyMatch(item -> item.getFreeReason() == FreeReason.LATE_DELIVERY);
+    public boolean isLateDelivery(OrderView order) {
+        return isLateDelivery(order.orderId(), order.orderStatus(), order.orderDate(), order.deliveredAt());
+    }
 
-        if (hasLateDeliveryCompensation) {
-            return 0.0;
+    private boolean isLateDelivery(Integer orderId, OrderStatus status, LocalDateTime orderDate,
+                                   LocalDateTime deliveredAt) {
+        if (status == OrderStatus.DELIVERED && deliveredAt != null) {
+            long actualMinutes = Duration.between(orderDate, deliveredAt).toMinutes();
+            return actualMinutes > LateDeliveryMonitor.PROMISED_DELIVERY_TIME_MINUTES;
+        } else if (status == OrderStatus.IN_PROGRESS || status == OrderStatus.PENDING) {
+            return lateDeliveryMonitor.isLate(orderId);
         }
-
-        return order.getOrderItems().stream()
-                .mapToDouble(item -> {
-                    BigDecimal unitPrice = item.getPizzaPrice();
-                    int quantity = item.getQuantity();
-
-                    if (item.getFreeReason() == FreeReason.LOYALTY) {
-                        if (quantity > 1) {
-                            BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
-                            return remainingTotal.doubleValue();
-                        } else {
-                            return 0.0;
-                        }
-                    } else {
-                        return unitPrice.doubleValue() * quantity;
-                    }
-                })
-                .sum();
+        return false;
     }
 
-    public Set<Integer> getOccupiedDriverIds() {
-        return findByStatus(OrderStatus.IN_PROGRESS).stream()
-                .filter(order -> order.getDriver() != null)
-                .map(order -> order.getDriver().getDriverId())
-                .collect(Collectors.toSet());
+    public Money calculateOrderTotal(Order order) {
+        return OrderPricing.of(order).total();
     }
 
-    public Set<Integer> getOccupiedVehicleIds() {
-        return findByStatus(OrderStatus.IN_PROGRESS).stream()
-                .filter(order -> order.getVehicle() != null)
-                .map(order -> order.getVehicle().getVehicleId())
-                .collect(Collectors.toSet());
+    public Money calculateOrderTotal(OrderView order) {
+        return OrderPricing.of(order).total();
     }
 
     @Transactional
     public Order save(Order order) {
         log.info("Starting order save process with {} items", order.getOrderItems().size());
+        boolean isNew = order.getOrderId() == null;
         Order savedOrder = repository.save(order);
+        if (isNew) {
+            rollupService.recordPlaced(savedOrder);
+            availabilityRegistry.onStatusChange(savedOrder.getOrderId(), null, savedOrder.getOrderStatus());
+            if (LateDeliveryMonitor.ACTIVE_STATUSES.contains(savedOrder.getOrderStatus())) {
+                lateDeliveryMonitor.track(savedOrder.getOrderId(), savedOrder.getOrderDate());
+            }
+            eventBus.publish(new OrderPlaced(savedOrder.getOrderId(), savedOrder.getClient().getClientId()));
+        }
         log.info("Order saved successfully with ID {} and {} items",
                 savedOrder.getOrderId(), savedOrder.getOrderItems().size());
         return savedOrder;
     }
 
+    /**
+     * Places a new order and charges it to its client in a single transaction.
+     *
+     * <p>The amount due, the loyalty points spent on free pizzas and the points earned
+     * are derived from the order lines. The client is then charged by one guarded UPDATE
+     * that only matches while the balance and the loyalty counter cover the order, so
+     * two terminals can never overdraw the same client. The order is inserted only once
+     * the charge succeeded.</p>
+     *
+     * <p>A rejection is raised before the charge and does not mark the transaction rollback-only,
+     * so that the orders placed along with it by {@link OrderIntakeQueue} still commit. Any other
+     * failure, in particular once the client is charged, rolls the transaction back.</p>
+     *
+     * <p>An order carrying the idempotency key of an order already placed is a retry: the
+     * original order is returned and the client is not charged again.</p>
+     *
+     * @param draft New order, and optionally its idempotency key
+     * @return The saved order, or the original one for a retry
+     * @throws OrderRejectedException If the client cannot afford the order; nothing is written
+     */
+    @Transactional(noRollbackFor = OrderRejectedException.class)
+    public Order placeOrder(OrderDraft draft) {
+        String idempotencyKey = draft.idempotencyKey();
+        if (idempotencyKey != null) {
+            Optional<Order> original = findByIdempotencyKey(idempotencyKey);
+            if (original.isPresent()) {
+                log.info("Order with key {} already placed as #{}", idempotencyKey, original.get().getOrderId());
+                return original.get();
+            }
+        }
+
+        Order order = newOrder(draft);
+        Integer clientId = draft.clientId();
+        OrderPricing pricing = OrderPricing.of(order);
+        BigDecimal total = pricing.total().toBigDecimal();
+        int pointsSpent = pricing.pointsSpent();
+        int pointsEarned = pricing.pointsEarned();
+
+        if (!clientService.debitForOrder(clientId, total, pointsSpent, pointsEarned)) {
+            Client client = clientService.findById(clientId)
+                    .orElseThrow(() -> new OrderRejectedException("Client introuvable"));
+            if (client.getAmount().compareTo(total) < 0) {
+                throw new OrderRejectedException("Solde insuffisant. Solde: " + client.getAmount() + "€, Total: " + total + "€");
+            }
+            throw new OrderRejectedException("Points de fidélité insuffisants. Points: " + client.getLoyaltyCounter() + ", Requis: " + pointsSpent);
+        }
+        log.info("Client #{} charged {}€, {} loyalty points spent, {} earned",
+                clientId, total, pointsSpent, pointsEarned);
+
+        Order saved = save(order);
+        if (idempotencyKey != null) {
+            idempotencyStore.put(idempotencyKey, saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Builds the entities of a new order, referring to its client, driver, vehicle and pizzas
+     * without loading them.
+     */
+    private Order newOrder(OrderDraft draft) {
+        Order order = new Order();
+        order.setClient(entityManager.getReference(Client.class, draft.clientId()));
+        if (draft.driverId() != null) {
+            order.setDriver(entityManager.getReference(DeliveryDriver.class, draft.driverId()));
+        }
+        if (draft.vehicleId() != null) {
+            order.setVehicle(entityManager.getReference(Vehicle.class, draft.vehicleId()));
+        }
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setIdempotencyKey(draft.idempotencyKey());
+
+        for (OrderDraft.Line line : draft.lines()) {
+            OrderPizza item = new OrderPizza();
+            item.setPizza(entityManager.getReference(Pizza.class, line.pizzaId()));
+            item.setPizzaSize(line.size());
+            item.setQuantity(line.quantity());
+            item.setPizzaPriceCents(line.unitCents());
+            item.setFreeReason(line.freeReason());
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    /**
+     * Finds the order placed with an idempotency key, from memory when recent.
+     */
+    private Optional<Order> findByIdempotencyKey(String idempotencyKey) {
+        Optional<Order> remembered = idempotencyStore.find(idempotencyKey);
+        if (remembered.isPresent()) {
+            return remembered;
+        }
+        Optional<Order> stored = repository.findByIdempotencyKey(idempotencyKey);
+        stored.ifPresent(order -> idempotencyStore.put(idempotencyKey, order));
+        return stored;
+    }
+
+    /**
+     * Changes the status of an order.
+     *
+     * @throws IllegalStatusChangeException If the order may not move to this status
+     */
     @Transactional
     public Order updateStatus(Integer orderId, OrderStatus newStatus) {
         Order order = repository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        OrderStatus oldStatus = order.getOrderStatus();
-        order.setOrderStatus(newStatus);
-
-        if (newStatus == OrderStatus.DELIVERED && oldStatus != OrderStatus.DELIVERED) {
-            log.info("Order #{} marked as delivered at {}", orderId, order.getDeliveredAt());
-
-            if (isLateDelivery(order)) {
-                log.info("Order #{} was delivered late - applying automatic refund", orderId);
-                processLateDeliveryRefund(order);
-            }
+        if (changeStatus(order, newStatus)) {
+            processLateDeliveryRefunds(List.of(orderId));
         }
-
         return repository.save(order);
     }
 
+    /**
+     * Changes the status of several orders at once, e.g. the deliveries of a round reported
+     * together by the driver. The orders delivered late are compensated together.
+     *
+     * @throws IllegalStatusChangeException If one of the orders may not move to this status;
+     *                                      none of them is changed
+     */
     @Transactional
-    public void processLateDeliveryRefund(Order order) {
-        BigDecimal refundAmount = BigDecimal.ZERO;
-
-        Client client = clientService.findById(order.getClient().getClientId())
-                .orElseThrow(() -> new RuntimeException("Client not found"));
-
-        log.info("=== LATE DELIVERY REFUND DEBUG ===");
-        log.info("Client #{} initial balance: {}€, loyalty: {}",
-                client.getClientId(), client.getAmount(), client.getLoyaltyCounter());
-
-        for (OrderPizza orderPizza : order.getOrderItems()) {
-            BigDecimal unitPrice = orderPizza.getPizzaPrice();
-            int quantity = orderPizza.getQuantity();
-
-            log.info("Processing pizza: {} x{}, price: {}€, freeReason: {}",
-                    orderPizza.getPizza().getPizzaName(), quantity, unitPrice, orderPizza.getFreeReason());
-
-            if (orderPizza.getFreeReason() == FreeReason.NOT_FREE) {
-                BigDecimal pizzaRefund = unitPrice.multiply(new BigDecimal(quantity));
-                refundAmount = refundAmount.add(pizzaRefund);
-                log.info("NOT_FREE pizza refund: {}€", pizzaRefund);
-            } else if (orderPizza.getFreeReason() == FreeReason.LOYALTY) {
-                if (quantity > 1) {
-                    BigDecimal paidAmount = unitPrice.multiply(new BigDecimal(quantity - 1));
-                    refundAmount = refundAmount.add(paidAmount);
-                    log.info("LOYALTY pizza refund (paid portion): {}€", paidAmount);
-                } else {
-                    log.info("LOYALTY pizza fully free, no money refund");
-                }
-            }
+    public List<Order> updateStatuses(Collection<Integer> orderIds, OrderStatus newStatus) {
+        List<Order> orders = repository.findAllById(orderIds);
+        if (orders.size() != Set.copyOf(orderIds).size()) {
+            throw new RuntimeException("Order not found");
         }
+        orders.forEach(order -> checkStatusChange(order, newStatus));
 
-        int loyaltyPointsToRefund = 0;
-        for (OrderPizza orderPizza : order.getOrderItems()) {
-            if (orderPizza.getFreeReason() == FreeReason.LOYALTY) {
-                loyaltyPointsToRefund += 10;
+        List<Integer> lateDeliveries = new ArrayList<>();
+        for (Order order : orders) {
+            if (changeStatus(order, newStatus)) {
+                lateDeliveries.add(order.getOrderId());
             }
         }
+        processLateDeliveryRefunds(lateDeliveries);
+        return repository.saveAll(orders);
+    }
 
-        log.info("Total money refund calculated: {}€", refundAmount);
-        log.info("Total loyalty points to refund: {}", loyaltyPointsToRefund);
-
-        if (refundAmount.compareTo(BigDecimal.ZERO) > 0) {
-            for (OrderPizza orderPizza : order.getOrderItems()) {
-                orderPizza.setFreeReason(FreeReason.LATE_DELIVERY);
-            }
-
-            BigDecimal currentBalance = client.getAmount();
-            BigDecimal newAmount = currentBalance.add(refundAmount);
-
-            log.info("Refunding money: current={}€ + refund={}€ = new={}€",
-                    currentBalance, refundAmount, newAmount);
-
-            clientService.updateAmount(client.getClientId(), newAmount);
-
-            Client verificationClient = clientService.findById(client.getClientId()).orElse(null);
-            if (verificationClient != null) {
-                log.info("Client balance after update in DB: {}€", verificationClient.getAmount());
-
-                if (verificationClient.getAmount().compareTo(newAmount) != 0) {
-                    log.error("Balance update failed! Expected: {}€, Actual: {}€",
-                            newAmount, verificationClient.getAmount());
+    /**
+     * Applies a status change to a loaded order and records it.
+     *
+     * @return {@code true} if the order has just been delivered late and must be compensated
+     */
+    private boolean changeStatus(Order order, OrderStatus newStatus) {
+        checkStatusChange(order, newStatus);
+        Integer orderId = order.getOrderId();
+        OrderStatus oldStatus = order.getOrderStatus();
+        order.setOrderStatus(newStatus);
+        rollupService.recordStatusChange(order, oldStatus, newStatus);
+        availabilityRegistry.onStatusChange(orderId, oldStatus, newStatus);
+        if (!LateDeliveryMonitor.ACTIVE_STATUSES.contains(newStatus)) {
+            lateDeliveryMonitor.untrack(orderId);
+        }
+        eventBus.publish(new OrderStatusChanged(orderId, oldStatus, newStatus));
 
-                    verificationClient.setAmount(newAmount);
-                    clientService.save(verificationClient);
+        if (newStatus == OrderStatus.DELIVERED) {
+            log.info("Order #{} marked as delivered at {}", orderId, order.getDeliveredAt());
 
-                    Client finalCheck = clientService.findById(client.getClientId()).orElse(null);
-                    if (finalCheck != null) {
-                        log.info("Final balance check: {}€", finalCheck.getAmount());
-                    }
-                }
+            if (isLateDelivery(order)) {
+                log.info("Order #{} was delivered late - applying automatic refund", orderId);
+                return true;
             }
+        }
+        return false;
+    }
 
-            log.info("Client #{} refunded {}€ for late delivery. New balance: {}€",
-                    client.getClientId(), refundAmount.doubleValue(), newAmount.doubleValue());
+    /**
+     * Rejects a status change the order lifecycle does not allow, before anything is recorded:
+     * the rollups, availability counts and late delivery refunds all assume each transition
+     * happens at most once.
+     */
+    private static void checkStatusChange(Order order, OrderStatus newStatus) {
+        if (!order.getOrderStatus().canChangeTo(newStatus)) {
+            throw new IllegalStatusChangeException(order.getOrderId(), order.getOrderStatus(), newStatus);
+        }
+    }
+
+    /**
+     * Compensates a set of orders delivered late: the money paid is credited back to each client,
+     * along with the loyalty points spent, and the lines of the orders refunded in money are marked
+     * {@link FreeReason#LATE_DELIVERY}. Runs in three statements whatever the number of orders.
+     *
+     * @return The compensation computed for each order
+     */
+    @Transactional
+    public List<LateDeliveryRefund> processLateDeliveryRefunds(Collection<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
         }
 
-        if (loyaltyPointsToRefund > 0) {
-            int currentPoints = client.getLoyaltyCounter();
-            int newPoints = currentPoints + loyaltyPointsToRefund;
-            clientService.updateLoyaltyCounter(client.getClientId(), newPoints);
+        List<LateDeliveryRefund> refunds = repository.findLateDeliveryRefunds(orderIds);
+        int creditedClients = clientService.creditLateDeliveryRefunds(orderIds,
+                OrderPricing.LOYALTY_POINTS_PER_FREE_PIZZA);
 
-            log.info("Client #{} refunded {} loyalty points for late delivery. Points: {} -> {}",
-                    client.getClientId(), loyaltyPointsToRefund, currentPoints, newPoints);
+        List<Integer> compensatedOrderIds = refunds.stream()
+                .filter(LateDeliveryRefund::refundsMoney)
+                .map(LateDeliveryRefund::orderId)
+                .toList();
+        if (!compensatedOrderIds.isEmpty()) {
+            repository.markLateDeliveryCompensated(compensatedOrderIds);
         }
+        refunds.stream()
+                .map(LateDeliveryRefund::clientId)
+                .distinct()
+                .forEach(clientId -> eventBus.publish(new ClientBalanceChanged(clientId)));
+
+        refunds.forEach(refund -> log.debug("Order #{} late delivery refund: {}€ and {} loyalty points to client #{}",
+                refund.orderId(), refund.amount(), refund.loyaltyLines() * OrderPricing.LOYALTY_POINTS_PER_FREE_PIZZA,
+                refund.clientId()));
+        log.info("Late delivery refunds processed for {} orders, {} clients credited",
+                refunds.size(), creditedClients);
+
+        return refunds;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,176 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.Client;
+import fr.rapizz.repository.ClientRepository;
+import fr.rapizz.util.AfterCommit;
+import fr.rapizz.util.PhoneNumbers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves clients from the number they call from, as it is being typed.
+ *
+ * <p>Normalized phone numbers (see {@link PhoneNumbers}) are stored in a digit trie whose nodes
+ * count the numbers below them. Matching a prefix walks one node per digit, and a prefix shared
+ * by a single client resolves to that client immediately. Distinct numbers may normalize to the
+ * same digits (e.g. {@code 06...} and {@code +33 6...}): a node keeps every client ending there.</p>
+ * <p>
+ * The directory is built from the database on first use, then kept up to date by
+ * {@link ClientService} as clients are saved and deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PhoneDirectory {
+    private final ClientRepository clientRepository;
+
+    private final Node root = new Node();
+    private final Map<Integer, String> numberByClient = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Finds the client a partial number designates without ambiguity: the only client whose
+     * number starts with it, or the client having exactly this number.
+     */
+    public synchronized Optional<Integer> resolve(String partialNumber) {
+        ensureLoaded();
+        Node node = find(PhoneNumbers.normalize(partialNumber));
+        if (node == null) {
+            return Optional.empty();
+        }
+        if (node.size != 1 && node.clientIds.size() != 1) {
+            return Optional.empty();
+        }
+        while (node != null && node.clientIds.isEmpty()) {
+            node = node.onlyChild();
+        }
+        return node != null && node.clientIds.size() == 1
+                ? Optional.of(node.clientIds.iterator().next())
+                : Optional.empty();
+    }
+
+    /**
+     * @return The number of clients whose normalized number starts with the given prefix
+     */
+    public synchronized int countMatches(String partialNumber) {
+        ensureLoaded();
+        Node node = find(PhoneNumbers.normalize(partialNumber));
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Indexes the number of a created or updated client, once the current transaction commits.
+     */
+    public void put(Client client) {
+        Integer clientId = client.getClientId();
+        String digits = PhoneNumbers.normalize(client.getPhoneNumber());
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    unindex(clientId);
+                    index(clientId, digits);
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted client from the directory, once the current transaction commits.
+     */
+    public void remove(Integer clientId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                unindex(clientId);
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        List<Client> clients = clientRepository.findAll();
+        clients.forEach(client -> index(client.getClientId(), PhoneNumbers.normalize(client.getPhoneNumber())));
+        loaded = true;
+        log.info("Phone directory built with {} numbers", numberByClient.size());
+    }
+
+    private Node find(String digits) {
+        Node node = root;
+        for (int i = 0; i < digits.length() && node != null; i++) {
+            node = node.children[digits.charAt(i) - '0'];
+        }
+        return node;
+    }
+
+    private void index(Integer clientId, String digits) {
+        if (digits.isEmpty()) {
+            return;
+        }
+        numberByClient.put(clientId, digits);
+
+        Node node = root;
+        node.size++;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(i) - '0';
+            if (node.children[digit] == null) {
+                node.children[digit] = new Node();
+            }
+            node = node.children[digit];
+            node.size++;
+        }
+        node.clientIds.add(clientId);
+    }
+
+    private void unindex(Integer clientId) {
+        String digits = numberByClient.remove(clientId);
+        if (digits == null) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>(digits.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < digits.length(); i++) {
+            node = node.children[digits.charAt(i) - '0'];
+            path.add(node);
+        }
+        node.clientIds.remove(clientId);
+
+        path.forEach(n -> n.size--);
+        // Prune the branch left without any number
+        for (int i = digits.length(); i > 0; i--) {
+            if (path.get(i).size == 0) {
+                path.get(i - 1).children[digits.charAt(i - 1) - '0'] = null;
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Node[] children = new Node[10];
+        // Clients whose number ends here, usually a single one
+        private final Set<Integer> clientIds = new HashSet<>(2);
+        private int size;
+
+        /**
+         * @return The first child, or {@code null} for a leaf
+         */
+        private Node onlyChild() {
+            for (Node child : children) {
+                if (child != null) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package fr.rapizz.service;
 
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.PizzaChanged;
 import fr.rapizz.model.Pizza;
 import fr.rapizz.model.PizzaSize;
 import fr.rapizz.repository.PizzaRepository;
@@ -16,9 +18,14 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class PizzaService {
     private final PizzaRepository repository;
+    private final MenuCatalog catalog;
+    private final DomainEventBus eventBus;
 
+    /**
+     * Returns the menu from the in-memory catalog.
+     */
     public List<Pizza> findAll() {
-        return repository.findAllWithIngredients();
+        return catalog.pizzas();
     }
 
     public Optional<Pizza> findById(Integer id) {
@@ -27,27 +34,31 @@ public class PizzaService {
 
     @Transactional
     public Pizza save(Pizza pizza) {
-        return repository.save(pizza);
+        Pizza saved = repository.save(pizza);
+        catalog.reloadAfterCommit();
+        eventBus.publish(new PizzaChanged(saved.getPizzaId(), false));
+        return saved;
     }
 
     @Transactional
     public void delete(Pizza pizza) {
         repository.delete(pizza);
+        catalog.reloadAfterCommit();
+        eventBus.publish(new PizzaChanged(pizza.getPizzaId(), true));
     }
 
     @Transactional
     public void deleteById(Integer id) {
         repository.deleteById(id);
+        catalog.reloadAfterCommit();
+        eventBus.publish(new PizzaChanged(id, true));
     }
 
     public BigDecimal calculatePrice(Pizza pizza, PizzaSize size) {
-        BigDecimal basePrice = pizza.getBasePrice();
-
-        return switch (size) {
-            case NAINE -> basePrice.multiply(new BigDecimal("0.67"));
-            case HUMAINE -> basePrice;
-            case OGRESSE -> basePrice.multiply(new BigDecimal("1.33"));
-            default -> throw new IllegalArgumentException("Invalid pizza size");
-        };
+        return catalog.priceOf(pizza, size);
+    }
+
+    public long calculatePriceCents(Pizza pizza, PizzaSize size) {
+        return catalog.centsOf(pizza, size);
     }
 }
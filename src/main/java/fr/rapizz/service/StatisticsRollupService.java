@@ -0,0 +1,118 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.repository.DailyDriverDeliveryRepository;
+import fr.rapizz.repository.DailyPizzaCountRepository;
+import fr.rapizz.repository.DailyRevenueRepository;
+import fr.rapizz.repository.DailyStatusCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the daily statistics rollups ({@code daily_revenue}, {@code daily_status_counts},
+ * {@code daily_pizza_counts}, {@code daily_driver_deliveries}).
+ *
+ * <p>Each change of an order is applied as deltas to the rows of its order day, in the
+ * transaction that changes the order. Orders are bucketed by their creation date, like the
+ * raw queries the dashboard used to run.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatisticsRollupService {
+    private final DailyRevenueRepository revenueRepository;
+    private final DailyStatusCountRepository statusCountRepository;
+    private final DailyPizzaCountRepository pizzaCountRepository;
+    private final DailyDriverDeliveryRepository driverDeliveryRepository;
+
+    /**
+     * Adds a newly inserted order to the rollups.
+     */
+    @Transactional
+    public void recordPlaced(Order order) {
+        LocalDate day = order.getOrderDate().toLocalDate();
+        OrderStatus status = order.getOrderStatus();
+
+        statusCountRepository.addCount(day, status.name(), 1);
+
+        if (status != OrderStatus.CANCELED) {
+            revenueRepository.addRevenue(day, revenueOf(order));
+        }
+
+        Map<Integer, Long> linesByPizza = order.getOrderItems().stream()
+                .collect(Collectors.groupingBy(item -> item.getPizza().getPizzaId(), Collectors.counting()));
+        linesByPizza.forEach((pizzaId, lines) -> pizzaCountRepository.addCount(day, pizzaId, lines.intValue()));
+
+        if (status == OrderStatus.DELIVERED && order.getDriver() != null) {
+            driverDeliveryRepository.addCount(day, order.getDriver().getDriverId(), 1);
+        }
+    }
+
+    /**
+     * Moves an order from one status to another in the rollups.
+     */
+    @Transactional
+    public void recordStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        LocalDate day = order.getOrderDate().toLocalDate();
+
+        statusCountRepository.addCount(day, oldStatus.name(), -1);
+        statusCountRepository.addCount(day, newStatus.name(), 1);
+
+        if (newStatus == OrderStatus.CANCELED) {
+            revenueRepository.addRevenue(day, revenueOf(order).negate());
+        } else if (oldStatus == OrderStatus.CANCELED) {
+            revenueRepository.addRevenue(day, revenueOf(order));
+        }
+
+        if (order.getDriver() != null) {
+            if (newStatus == OrderStatus.DELIVERED) {
+                driverDeliveryRepository.addCount(day, order.getDriver().getDriverId(), 1);
+            } else if (oldStatus == OrderStatus.DELIVERED) {
+                driverDeliveryRepository.addCount(day, order.getDriver().getDriverId(), -1);
+            }
+        }
+    }
+
+    /**
+     * Recomputes every rollup from the orders table, e.g. after a manual import.
+     */
+    @Transactional
+    public void rebuild() {
+        log.info("Rebuilding daily statistics rollups");
+        revenueRepository.deleteAllInBatch();
+        statusCountRepository.deleteAllInBatch();
+        pizzaCountRepository.deleteAllInBatch();
+        driverDeliveryRepository.deleteAllInBatch();
+
+        revenueRepository.backfill();
+        statusCountRepository.backfill();
+        pizzaCountRepository.backfill();
+        driverDeliveryRepository.backfill();
+        log.info("Daily statistics rollups rebuilt");
+    }
+
+    /**
+     * Sum of the lines of an order at their list price, whatever their free reason,
+     * as counted by the revenue statistics.
+     */
+    private BigDecimal revenueOf(Order order) {
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (OrderPizza item : order.getOrderItems()) {
+            revenue = revenue.add(item.getPizzaPrice().multiply(new BigDecimal(item.getQuantity())));
+        }
+        return revenue;
+    }
+}
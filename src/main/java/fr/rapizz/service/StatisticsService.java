@@ -1,38 +1,99 @@
 package fr.rapizz.service;
 
+import fr.rapizz.dto.DashboardSnapshot;
+import fr.rapizz.model.DailyRevenue;
 import fr.rapizz.model.OrderStatus;
-import fr.rapizz.repository.OrderRepository;
-import fr.rapizz.repository.PizzaRepository;
+import fr.rapizz.repository.DailyDriverDeliveryRepository;
+import fr.rapizz.repository.DailyPizzaCountRepository;
+import fr.rapizz.repository.DailyRevenueRepository;
+import fr.rapizz.repository.DailyStatusCountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard statistics, read from the daily rollups maintained by {@link StatisticsRollupService}
+ * so that the cost of a query depends on the number of days in the period, not on the number of orders.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class StatisticsService {
-    private final OrderRepository orderRepository;
-    private final PizzaRepository pizzaRepository;
+    private final DailyRevenueRepository revenueRepository;
+    private final DailyStatusCountRepository statusCountRepository;
+    private final DailyPizzaCountRepository pizzaCountRepository;
+    private final DailyDriverDeliveryRepository driverDeliveryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Loads every figure of the dashboard for the period starting at the given date.
+     *
+     * <p>The queries run concurrently on virtual threads, so the wall time is that of the
+     * slowest one. Each task reads in its own read-only REPEATABLE READ transaction: a
+     * snapshot cannot be shared between connections, so the figures that must agree with
+     * each other (revenue, order count and revenue by day, which make up the average order
+     * value and the chart) are read together in the same transaction.</p>
+     *
+     * @param startDate  First day of the period
+     * @param pizzaLimit Maximum number of pizzas in the popularity ranking
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DashboardSnapshot loadDashboard(LocalDate startDate, int pizzaLimit) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<RevenueFigures> revenue = executor.submit(() -> inSnapshot(() -> new RevenueFigures(
+                    calculateTotalRevenue(startDate),
+                    countOrders(startDate),
+                    getRevenueByTimePeriod(startDate))));
+            Future<String> topDriver = executor.submit(() -> inSnapshot(() -> findTopDriver(startDate)));
+            Future<Map<String, Integer>> pizzas = executor.submit(() -> inSnapshot(() -> getMostPopularPizzas(startDate, pizzaLimit)));
+            Future<Map<OrderStatus, Integer>> statuses = executor.submit(() -> inSnapshot(() -> getOrderStatusCounts(startDate)));
+
+            RevenueFigures figures = revenue.get();
+            return new DashboardSnapshot(startDate, figures.totalRevenue(), figures.totalOrders(),
+                    topDriver.get(), pizzas.get(), statuses.get(), figures.revenueByDay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dashboard loading interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dashboard loading failed", e.getCause());
+        }
+    }
+
+    private <T> T inSnapshot(Supplier<T> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template.execute(status -> query.get());
+    }
+
+    private record RevenueFigures(BigDecimal totalRevenue, int totalOrders, Map<String, BigDecimal> revenueByDay) {
+    }
 
     /**
      * Calculates total revenue from orders since the given date.
      */
     public BigDecimal calculateTotalRevenue(LocalDate startDate) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            return orderRepository.calculateTotalRevenue(startDateTime, OrderStatus.CANCELED);
+            return revenueRepository.sumRevenue(startDate);
         } catch (Exception e) {
             log.error("Error calculating revenue", e);
             return BigDecimal.ZERO;
@@ -44,8 +105,7 @@ public class StatisticsService {
      */
     public int countOrders(LocalDate startDate) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            return (int) orderRepository.countOrders(startDateTime);
+            return (int) statusCountRepository.sumCounts(startDate);
         } catch (Exception e) {
             log.error("Error counting orders", e);
             return 0;
@@ -57,8 +117,7 @@ public class StatisticsService {
      */
     public String findTopDriver(LocalDate startDate) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            List<String> drivers = orderRepository.findTopDrivers(startDateTime);
+            List<String> drivers = driverDeliveryRepository.findTopDrivers(startDate);
             return drivers.isEmpty() ? "Aucun" : drivers.get(0);
         } catch (Exception e) {
             log.error("Error finding top driver", e);
@@ -75,8 +134,7 @@ public class StatisticsService {
      */
     public Map<String, Integer> getMostPopularPizzas(LocalDate startDate, int limit) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            List<Object[]> results = pizzaRepository.getMostPopularPizzas(startDateTime, PageRequest.of(0, limit));
+            List<Object[]> results = pizzaCountRepository.getMostPopularPizzas(startDate, PageRequest.of(0, limit));
 
             Map<String, Integer> pizzas = new LinkedHashMap<>();
             for (Object[] row : results) {
@@ -94,8 +152,7 @@ public class StatisticsService {
      */
     public Map<OrderStatus, Integer> getOrderStatusCounts(LocalDate startDate) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            List<Object[]> results = orderRepository.getOrderStatusCounts(startDateTime);
+            List<Object[]> results = statusCountRepository.sumCountsByStatus(startDate);
 
             return results.stream()
                     .collect(Collectors.toMap(
@@ -114,12 +171,9 @@ public class StatisticsService {
      */
     public Map<String, BigDecimal> getRevenueByTimePeriod(LocalDate startDate) {
         try {
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            List<Object[]> results = orderRepository.getRevenueByDay(startDateTime);
-
             Map<String, BigDecimal> revenue = new LinkedHashMap<>();
-            for (Object[] row : results) {
-                revenue.put((String) row[0], (BigDecimal) row[1]);
+            for (DailyRevenue day : revenueRepository.findSince(startDate)) {
+                revenue.put(day.getStatDate().toString(), day.getRevenue());
             }
             return revenue;
         } catch (Exception e) {
@@ -1,14 +1,17 @@
 package fr.rapizz.service;
 
+import fr.rapizz.dto.Availability;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.VehicleChanged;
 import fr.rapizz.model.Vehicle;
 import fr.rapizz.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,18 +19,26 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class VehicleService {
     private final VehicleRepository repository;
-    private final OrderService orderService;
+    private final AvailabilityRegistry availabilityRegistry;
+    private final DomainEventBus eventBus;
 
     public List<Vehicle> findAll() {
         return repository.findAll();
     }
 
+    public long count() {
+        return repository.count();
+    }
+
+    public List<Vehicle> findPage(int pageIndex, int pageSize) {
+        return repository.findPage(PageRequest.of(pageIndex, pageSize));
+    }
+
     public List<Vehicle> findAvailableVehicles() {
-        List<Vehicle> allVehicles = findAll();
-        Set<Integer> occupiedVehicleIds = orderService.getOccupiedVehicleIds();
+        Availability availability = availabilityRegistry.current();
 
-        return allVehicles.stream()
-                .filter(vehicle -> !occupiedVehicleIds.contains(vehicle.getVehicleId()))
+        return findAll().stream()
+                .filter(vehicle -> availability.isVehicleAvailable(vehicle.getVehicleId()))
                 .collect(Collectors.toList());
     }
 
@@ -37,16 +48,21 @@ public class VehicleService {
 
     @Transactional
     public Vehicle save(Vehicle vehicle) {
-        return repository.save(vehicle);
+        Vehicle saved = repository.save(vehicle);
+        eventBus.publish(new VehicleChanged(saved.getVehicleId(), false));
+        return saved;
     }
 
     @Transactional
     public Vehicle update(Vehicle vehicle) {
-        return repository.save(vehicle);
+        Vehicle updated = repository.save(vehicle);
+        eventBus.publish(new VehicleChanged(updated.getVehicleId(), false));
+        return updated;
     }
 
     @Transactional
     public void deleteById(Integer id) {
         repository.deleteById(id);
+        eventBus.publish(new VehicleChanged(id, true));
     }
 }
\ No newline at end of file
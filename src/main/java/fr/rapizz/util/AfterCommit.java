@@ -0,0 +1,37 @@
+package fr.rapizz.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of in-memory state until the data they reflect is committed.
+ * <p>
+ * The action is dropped if the transaction rolls back. It runs with the resources of the
+ * committed transaction still bound to the thread: an action querying the database must
+ * open a new transaction (propagation {@code REQUIRES_NEW}).
+ * <p>
+ * Example usage:
+ * <pre>
+ * AfterCommit.run(() -> cache.put(client.getClientId(), client));
+ * </pre>
+ */
+public final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away outside a transaction.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package fr.rapizz.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs data fetches off the Event Dispatch Thread and publishes their result back on it.
+ *
+ * <p>A loader serves one area of a panel. Starting a load supersedes the one in progress:
+ * the previous worker is cancelled and, should its fetch still complete, its result is
+ * dropped. While a load is in progress the owner component shows a wait cursor.</p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * loader.load(controller::getAllClients, this::showClients);
+ * </pre>
+ * All methods must be called on the Event Dispatch Thread.
+ */
+@Slf4j
+public class AsyncLoader {
+    private final JComponent owner;
+    private SwingWorker<?, ?> current;
+    private long generation;
+
+    /**
+     * @param owner Component showing the loading state
+     */
+    public AsyncLoader(JComponent owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Fetches data in the background, logging any failure.
+     *
+     * @param fetch     Fetch to run off the EDT
+     * @param onSuccess Called on the EDT with the fetched data, unless superseded
+     */
+    public <T> void load(Supplier<T> fetch, Consumer<T> onSuccess) {
+        load(fetch, onSuccess, e -> log.error("Background loading failed", e));
+    }
+
+    /**
+     * Fetches data in the background.
+     *
+     * @param fetch     Fetch to run off the EDT
+     * @param onSuccess Called on the EDT with the fetched data, unless superseded
+     * @param onError   Called on the EDT with the failure of the fetch, unless superseded
+     */
+    public <T> void load(Supplier<T> fetch, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        cancel();
+        long requestGeneration = ++generation;
+        owner.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() {
+                return fetch.get();
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                current = null;
+                owner.setCursor(Cursor.getDefaultCursor());
+
+                T data;
+                try {
+                    data = get();
+                } catch (ExecutionException e) {
+                    onError.accept(e.getCause() instanceof Exception cause ? cause : e);
+                    return;
+                } catch (Exception e) {
+                    onError.accept(e);
+                    return;
+                }
+                onSuccess.accept(data);
+            }
+        };
+        current = worker;
+        worker.execute();
+    }
+
+    /**
+     * Abandons the load in progress, if any. Running queries are not interrupted,
+     * their result is discarded.
+     */
+    public void cancel() {
+        if (current != null) {
+            // Superseded first: a cancelled worker runs done() right away
+            SwingWorker<?, ?> superseded = current;
+            current = null;
+            generation++;
+            superseded.cancel(false);
+            owner.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+}
@@ -0,0 +1,192 @@
+package fr.rapizz.util;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Table model reading its rows page by page from a {@link PageSource}.
+ *
+ * <p>Only the pages the table actually paints are fetched, in the background, along with
+ * their neighbours so that scrolling finds them ready. Rows of a page not loaded yet are
+ * blank until it arrives. Loaded pages are kept in a bounded cache, least recently used
+ * pages being evicted first.</p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * tableModel.setSource(PageSource.of(service::count, service::findPage));
+ * </pre>
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @param <T> Type of the entities displayed, one per row
+ */
+@Slf4j
+public class LazyTableModel<T> extends AbstractTableModel {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_CACHED_PAGES = 20;
+
+    private final String[] columns;
+    private final Function<T, Object[]> toRow;
+    private final int pageSize;
+    private final Map<Integer, List<Object[]>> pages;
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private PageSource<T> source;
+    private int rowCount;
+    private long generation;
+
+    /**
+     * Called with the failure of a fetch. Failures are logged by default.
+     */
+    @Setter
+    private Consumer<Exception> errorHandler = e -> log.error("Table page loading failed", e);
+
+    /**
+     * @param columns Column names
+     * @param toRow   Conversion of an entity into the values of its row, run off the EDT
+     */
+    public LazyTableModel(String[] columns, Function<T, Object[]> toRow) {
+        this(columns, toRow, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * @param columns     Column names
+     * @param toRow       Conversion of an entity into the values of its row, run off the EDT
+     * @param pageSize    Number of rows fetched at once
+     * @param cachedPages Maximum number of pages kept in memory
+     */
+    public LazyTableModel(String[] columns, Function<T, Object[]> toRow, int pageSize, int cachedPages) {
+        this.columns = columns.clone();
+        this.toRow = toRow;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(cachedPages, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Displays the rows of a new source. The current rows stay displayed until the row count
+     * and the first page of the new source are known.
+     */
+    public void setSource(PageSource<T> newSource) {
+        long requestGeneration = ++generation;
+        pendingPages.clear();
+        source = newSource;
+
+        new SwingWorker<FirstPage, Void>() {
+            @Override
+            protected FirstPage doInBackground() {
+                int count = Math.toIntExact(newSource.count());
+                return new FirstPage(count, count > 0 ? toRows(newSource.fetchPage(0, pageSize)) : List.of());
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                try {
+                    FirstPage firstPage = get();
+                    pages.clear();
+                    pages.put(0, firstPage.rows());
+                    rowCount = firstPage.count();
+                    fireTableDataChanged();
+                    requestPage(1, false);
+                } catch (Exception e) {
+                    errorHandler.accept(unwrap(e));
+                }
+            }
+        }.execute();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    /**
+     * @return The value of the cell, or {@code null} while its page is loading
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int pageIndex = rowIndex / pageSize;
+        List<Object[]> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex, true);
+            return null;
+        }
+        int offset = rowIndex % pageSize;
+        return offset < page.size() ? page.get(offset)[columnIndex] : null;
+    }
+
+    private void requestPage(int pageIndex, boolean withNeighbours) {
+        if (source == null || pageIndex < 0 || pageIndex * pageSize >= rowCount
+                || pages.containsKey(pageIndex) || !pendingPages.add(pageIndex)) {
+            return;
+        }
+        PageSource<T> pageSource = source;
+        long requestGeneration = generation;
+
+        new SwingWorker<List<Object[]>, Void>() {
+            @Override
+            protected List<Object[]> doInBackground() {
+                return toRows(pageSource.fetchPage(pageIndex, pageSize));
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                pendingPages.remove(pageIndex);
+                try {
+                    pages.put(pageIndex, get());
+                } catch (Exception e) {
+                    errorHandler.accept(unwrap(e));
+                    return;
+                }
+                int firstRow = pageIndex * pageSize;
+                fireTableRowsUpdated(firstRow, Math.min(firstRow + pageSize, rowCount) - 1);
+
+                if (withNeighbours) {
+                    requestPage(pageIndex - 1, false);
+                    requestPage(pageIndex + 1, false);
+                }
+            }
+        }.execute();
+    }
+
+    private List<Object[]> toRows(List<T> entities) {
+        return entities.stream().map(toRow).toList();
+    }
+
+    private static Exception unwrap(Exception e) {
+        return e instanceof ExecutionException && e.getCause() instanceof Exception cause ? cause : e;
+    }
+
+    private record FirstPage(int count, List<Object[]> rows) {
+    }
+}
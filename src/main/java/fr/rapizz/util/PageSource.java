@@ -0,0 +1,75 @@
+package fr.rapizz.util;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Paged access to a list of entities, read by a {@link LazyTableModel}.
+ * Both methods are called off the Event Dispatch Thread.
+ *
+ * @param <T> Type of the entities
+ */
+public interface PageSource<T> {
+    /**
+     * @return The total number of entities
+     */
+    long count();
+
+    /**
+     * @param pageIndex Zero-based index of the page
+     * @param pageSize  Number of entities per page
+     * @return The entities of the page, fewer than {@code pageSize} on the last page
+     */
+    List<T> fetchPage(int pageIndex, int pageSize);
+
+    /**
+     * Creates a source from a count and a page query, typically backed by a repository.
+     */
+    static <T> PageSource<T> of(LongSupplier count, PageFetcher<T> fetcher) {
+        return new PageSource<>() {
+            @Override
+            public long count() {
+                return count.getAsLong();
+            }
+
+            @Override
+            public List<T> fetchPage(int pageIndex, int pageSize) {
+                return fetcher.fetch(pageIndex, pageSize);
+            }
+        };
+    }
+
+    /**
+     * Creates a source paging through a list fetched once, on first access (e.g. search results).
+     */
+    static <T> PageSource<T> ofList(Supplier<List<T>> fetch) {
+        return new PageSource<>() {
+            private List<T> rows;
+
+            private synchronized List<T> rows() {
+                if (rows == null) {
+                    rows = List.copyOf(fetch.get());
+                }
+                return rows;
+            }
+
+            @Override
+            public long count() {
+                return rows().size();
+            }
+
+            @Override
+            public List<T> fetchPage(int pageIndex, int pageSize) {
+                List<T> all = rows();
+                int from = Math.min(pageIndex * pageSize, all.size());
+                return all.subList(from, Math.min(from + pageSize, all.size()));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        List<T> fetch(int pageIndex, int pageSize);
+    }
+}
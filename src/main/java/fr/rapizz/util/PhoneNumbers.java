@@ -0,0 +1,37 @@
+package fr.rapizz.util;
+
+/**
+ * Normalization of phone numbers to the digits of their E.164 form.
+ * <p>
+ * Numbers dialed in the French national format are assumed: {@code 06 12 34 56 78},
+ * {@code +33 6 12 34 56 78}, {@code +33 06 12 34 56 78} and {@code 0033 6 12 34 56 78}
+ * all normalize to {@code 33612345678}. Partial numbers are normalized the same way, so
+ * that a prefix typed by an operator is a prefix of the normalized number.
+ */
+public final class PhoneNumbers {
+    private static final String DEFAULT_COUNTRY_CODE = "33";
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * @param number Phone number or beginning of one, in any format
+     * @return The digits of the number in international format, possibly empty
+     */
+    public static String normalize(String number) {
+        if (number == null) {
+            return "";
+        }
+        String digits = number.replaceAll("[^0-9]", "");
+
+        if (digits.startsWith("00")) {
+            digits = digits.substring(2);
+        } else if (digits.startsWith("0")) {
+            digits = DEFAULT_COUNTRY_CODE + digits.substring(1);
+        }
+        if (digits.startsWith(DEFAULT_COUNTRY_CODE + "0")) {
+            digits = DEFAULT_COUNTRY_CODE + digits.substring(DEFAULT_COUNTRY_CODE.length() + 1);
+        }
+        return digits;
+    }
+}
@@ -1,11 +1,13 @@
 package fr.rapizz.util;
 
 import fr.rapizz.controller.*;
+import fr.rapizz.event.DomainEventBus;
 import fr.rapizz.service.*;
 import fr.rapizz.view.panels.*;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
@@ -15,6 +17,7 @@ import java.util.Set;
 import java.util.function.Supplier;
 
 @Component
+@Profile("!headless")
 @RequiredArgsConstructor
 @Slf4j
 public class ViewFactory {
@@ -24,6 +27,7 @@ public class ViewFactory {
     private final DeliveryController deliveryController;
     private final MenuController menuController;
     private final StatisticsController statisticsController;
+    private final DomainEventBus eventBus;
 
     private final Map<String, Supplier<JPanel>> viewCreators = new HashMap<>();
 
@@ -31,12 +35,12 @@ public class ViewFactory {
     public void initializeViewCreators() {
         log.info("Initializing view creators");
 
-        viewCreators.put("MENU_PIZZAS", () -> new MenuPanel(menuController));
-        viewCreators.put("STATISTICS", () -> new StatisticsPanel(statisticsController));
-        viewCreators.put("DELIVERY", () -> new DeliveryPanel(deliveryController, clientController));
-        viewCreators.put("DRIVER_MANAGEMENT", () -> new DriverManagementPanel(driverController));
-        viewCreators.put("VEHICLE_MANAGEMENT", () -> new VehicleManagementPanel(vehicleController));
-        viewCreators.put("CLIENT_MANAGEMENT", () -> new ClientManagementPanel(clientController));
+        viewCreators.put("MENU_PIZZAS", () -> new MenuPanel(menuController, eventBus));
+        viewCreators.put("STATISTICS", () -> new StatisticsPanel(statisticsController, eventBus));
+        viewCreators.put("DELIVERY", () -> new DeliveryPanel(deliveryController, clientController, eventBus));
+        viewCreators.put("DRIVER_MANAGEMENT", () -> new DriverManagementPanel(driverController, eventBus));
+        viewCreators.put("VEHICLE_MANAGEMENT", () -> new VehicleManagementPanel(vehicleController, eventBus));
+        viewCreators.put("CLIENT_MANAGEMENT", () -> new ClientManagementPanel(clientController, eventBus));
 
         log.info("View creators initialized: {}", viewCreators.keySet());
     }
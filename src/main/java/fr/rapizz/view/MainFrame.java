@@ -6,6 +6,7 @@ import fr.rapizz.view.panels.*;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
@@ -16,6 +17,7 @@ import java.util.Map;
 import java.util.Objects;
 
 @Component
+@Profile("!headless")
 @RequiredArgsConstructor
 @Slf4j
 public class MainFrame extends JFrame {
@@ -1,21 +1,24 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.util.AlternatingRowRenderer;
+import fr.rapizz.util.LazyTableModel;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.view.theme.AppTheme;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.util.List;
 
 public abstract class AbstractManagementPanel<T> extends JPanel {
+    private static final int SEARCH_DELAY_MS = 250;
+
     // UI Components
     protected JTable entityTable;
-    protected DefaultTableModel tableModel;
+    protected LazyTableModel<T> tableModel;
     protected JTextField searchField;
     protected JButton addButton;
     protected JButton updateButton;
@@ -24,6 +27,7 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
 
     // State
     protected T selectedEntity;
+    private final Timer searchTimer = new Timer(SEARCH_DELAY_MS, e -> reloadEntities());
 
     /**
      * Creates a new management panel.
@@ -58,6 +62,7 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
      */
     private void createTable() {
         tableModel = createTableModel();
+        tableModel.setErrorHandler(e -> showErrorMessage("Erreur de chargement: " + e.getMessage()));
         entityTable = new JTable(tableModel);
         entityTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         entityTable.getTableHeader().setReorderingAllowed(false);
@@ -259,8 +264,11 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
             if (!e.getValueIsAdjusting()) {
                 int selectedRow = entityTable.getSelectedRow();
                 if (selectedRow >= 0) {
+                    // Blank while the page of the row is loading
                     Object entityId = entityTable.getValueAt(selectedRow, 0);
-                    onRowSelected(entityId);
+                    if (entityId != null) {
+                        onRowSelected(entityId);
+                    }
                 }
             }
         });
@@ -271,14 +279,15 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
         deleteButton.addActionListener(e -> handleDeleteEntity());
         clearButton.addActionListener(e -> clearForm());
 
-        // Search field listener
+        // Search field listener, filtering once typing pauses
+        searchTimer.setRepeats(false);
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public void insertUpdate(DocumentEvent e) { filterEntities(); }
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
             @Override
-            public void removeUpdate(DocumentEvent e) { filterEntities(); }
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
             @Override
-            public void changedUpdate(DocumentEvent e) { filterEntities(); }
+            public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
         });
     }
 
@@ -313,6 +322,27 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
      */
     protected abstract void loadEntities();
 
+    /**
+     * Reloads the table, keeping the current search if any.
+     */
+    protected void reloadEntities() {
+        if (searchField.getText().isEmpty()) {
+            loadEntities();
+        } else {
+            filterEntities();
+        }
+    }
+
+    /**
+     * Displays the entities of a source in the table. Rows are fetched in the background as
+     * they are scrolled into view; a newer call (e.g. another search) supersedes a pending one.
+     *
+     * @param source Entities to display
+     */
+    protected void showRows(PageSource<T> source) {
+        tableModel.setSource(source);
+    }
+
     /**
      * Populates form fields with entity data.
      * @param entity The entity to display in the form
@@ -394,7 +424,7 @@ public abstract class AbstractManagementPanel<T> extends JPanel {
     /**
      * Creates the table model for the entities list.
      */
-    protected abstract DefaultTableModel createTableModel();
+    protected abstract LazyTableModel<T> createTableModel();
 
     /**
      * Gets the grid Y position for the buttons panel.
@@ -1,15 +1,18 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.ClientController;
+import fr.rapizz.event.ClientBalanceChanged;
+import fr.rapizz.event.ClientChanged;
+import fr.rapizz.event.DomainEventBus;
 import fr.rapizz.model.Client;
+import fr.rapizz.util.LazyTableModel;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import fr.rapizz.view.theme.AppTheme;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.math.BigDecimal;
-import java.util.List;
 
 /**
  * Panel for managing clients
@@ -29,10 +32,13 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
     /**
      * Creates a new client management panel
      * @param controller The client controller
+     * @param eventBus   Bus notifying the changes to reload the table
      */
-    public ClientManagementPanel(ClientController controller) {
+    public ClientManagementPanel(ClientController controller, DomainEventBus eventBus) {
         super(); // Initialize the abstract panel
         this.controller = controller;
+        eventBus.subscribeWhileShowing(this, events -> reloadEntities(),
+                ClientChanged.class, ClientBalanceChanged.class);
         loadEntities();
     }
 
@@ -74,14 +80,9 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
     }
 
     @Override
-    protected DefaultTableModel createTableModel() {
+    protected LazyTableModel<Client> createTableModel() {
         String[] columns = {"ID", "Prénom", "Nom", "Adresse", "Téléphone", "Solde", "Points Fidélité"};
-        return new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        return new LazyTableModel<>(columns, this::createTableRow);
     }
 
     @Override
@@ -101,7 +102,6 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
 
         if (result.isSuccess()) {
             clearForm();
-            loadEntities();
             showSuccessMessage("Client ajouté avec succès!");
         } else {
             showValidationError(result.getErrors());
@@ -139,7 +139,6 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
 
             if (result.isSuccess()) {
                 clearForm();
-                loadEntities();
                 showSuccessMessage("Client mis à jour avec succès!");
             } else {
                 showValidationError(result.getErrors());
@@ -155,7 +154,6 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
 
                 if (result.isSuccess()) {
                     clearForm();
-                    loadEntities();
                     showSuccessMessage("Client supprimé avec succès!");
                 } else {
                     showErrorMessage(String.join("\n", result.getErrors()));
@@ -167,17 +165,12 @@ public class ClientManagementPanel extends AbstractManagementPanel<Client> {
     @Override
     protected void filterEntities() {
         String searchText = searchField.getText().toLowerCase();
-        List<Client> filteredClients = controller.searchClients(searchText);
-
-        tableModel.setRowCount(0);
-        filteredClients.forEach(client -> tableModel.addRow(createTableRow(client)));
+        showRows(PageSource.ofList(() -> controller.searchClients(searchText)));
     }
 
     @Override
     protected void loadEntities() {
-        tableModel.setRowCount(0);
-        List<Client> clients = controller.getAllClients();
-        clients.forEach(client -> tableModel.addRow(createTableRow(client)));
+        showRows(controller.getClientPages());
     }
 
     /**
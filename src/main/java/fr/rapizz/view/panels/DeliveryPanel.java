@@ -2,7 +2,16 @@ package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.DeliveryController;
 import fr.rapizz.controller.ClientController;
+import fr.rapizz.dto.Availability;
+import fr.rapizz.dto.OrderCursor;
+import fr.rapizz.dto.OrderDraft;
+import fr.rapizz.dto.OrderLineView;
+import fr.rapizz.dto.OrderPage;
+import fr.rapizz.dto.OrderView;
+import fr.rapizz.event.*;
 import fr.rapizz.model.*;
+import fr.rapizz.service.Cart;
+import fr.rapizz.util.AsyncLoader;
 import fr.rapizz.util.Result;
 import fr.rapizz.view.theme.AppTheme;
 import lombok.extern.slf4j.Slf4j;
@@ -11,44 +20,102 @@ import javax.swing.*;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class DeliveryPanel extends JPanel {
+    private static final int ORDERS_PAGE_SIZE = 20;
+    private static final int ORDER_ROW_HEIGHT = 64;
+    private static final DateTimeFormatter ORDER_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private final DeliveryController deliveryController;
     private final ClientController clientController;
 
     // UI Components
-    private JPanel ordersPanel;
+    private OrderListModel orderListModel;
+    private JList<OrderView> orderList;
+    private JPanel orderDetailsPanel;
     private JComboBox<DeliveryDriver> driverCombo;
     private JComboBox<Vehicle> vehicleCombo;
     private JComboBox<Client> clientCombo;
+    private JTextField callerPhoneField;
+    private JLabel callerMatchLabel;
     private JPanel pizzaSelectionPanel;
-    private final List<OrderPizza> selectedPizzas;
-    private final List<JCheckBox> freePizzaCheckboxes;
+    // Drafted order, its totals follow each added, removed or toggled line
+    private final Cart cart = new Cart();
+    private final List<JCheckBox> loyaltyCheckboxes = new ArrayList<>();
     private JLabel clientInfoLabel;
     private JComboBox<String> orderFilterCombo;
     private JLabel orderSummaryLabel;
+    private JButton createButton;
 
     private Client selectedClient;
+    // Last order submitted, with its idempotency key: submitting the same order again is a retry
+    // and reuses the key, while any change to the client, driver, vehicle or cart gets a new one
+    private OrderDraft submittedDraft;
     private JLabel loyaltyInfoLabel;
 
-    public DeliveryPanel(DeliveryController deliveryController, ClientController clientController) {
+    // Order list paging state
+    private OrderCursor nextOrdersCursor;
+    private boolean hasMoreOrders;
+
+    // Background loading
+    private final AsyncLoader ordersLoader = new AsyncLoader(this);
+    private final AsyncLoader orderChangesLoader = new AsyncLoader(this);
+    private final AsyncLoader availabilityLoader = new AsyncLoader(this);
+    private final AsyncLoader clientsLoader = new AsyncLoader(this);
+    private final AsyncLoader deliveryLoader = new AsyncLoader(this);
+    private final AsyncLoader formLoader = new AsyncLoader(this);
+    private final AsyncLoader menuLoader = new AsyncLoader(this);
+    private final AsyncLoader callerLoader = new AsyncLoader(this);
+    // Changed orders and clients not applied yet: a reload supersedes the previous one, so it covers them all
+    private final Set<Integer> pendingOrderIds = new LinkedHashSet<>();
+    private final Set<Integer> pendingClientIds = new LinkedHashSet<>();
+
+    // Orders crossing their delivery deadline are reported from the scheduler thread;
+    // the late flag is read when rows are painted
+    private final Consumer<List<Integer>> lateDeliveryListener =
+            orderIds -> SwingUtilities.invokeLater(this::repaintOrders);
+
+    public DeliveryPanel(DeliveryController deliveryController, ClientController clientController,
+                         DomainEventBus eventBus) {
         this.deliveryController = deliveryController;
         this.clientController = clientController;
-        this.selectedPizzas = new ArrayList<>();
-        this.freePizzaCheckboxes = new ArrayList<>();
 
         log.info("Creating DeliveryPanel with controllers: DeliveryController={}, ClientController={}",
                 deliveryController != null ? "OK" : "NULL",
                 clientController != null ? "OK" : "NULL");
 
         initializeComponents();
+        eventBus.subscribeWhileShowing(this, this::applyDomainEvents, OrderPlaced.class,
+                OrderStatusChanged.class, OrderChanged.class, ClientChanged.class, ClientBalanceChanged.class);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        deliveryController.addLateDeliveryListener(lateDeliveryListener);
+    }
+
+    @Override
+    public void removeNotify() {
+        deliveryController.removeLateDeliveryListener(lateDeliveryListener);
+        super.removeNotify();
     }
 
     private void initializeComponents() {
@@ -91,6 +158,7 @@ public class DeliveryPanel extends JPanel {
             add(contentPanel, BorderLayout.CENTER);
 
             // Load initial data
+            loadFormData();
             loadOrders();
 
             log.info("DeliveryPanel initialization completed successfully");
@@ -110,25 +178,38 @@ public class DeliveryPanel extends JPanel {
         formPanel.add(titleForm);
         formPanel.add(Box.createVerticalStrut(15));
 
-        // Driver selection
-        List<DeliveryDriver> allDrivers = deliveryController.getAllDrivers();
-        List<DeliveryDriver> availableDrivers = deliveryController.getAvailableDrivers();
-
-        driverCombo = new JComboBox<>(allDrivers.toArray(new DeliveryDriver[0]));
-        driverCombo.setRenderer(new DriverComboRenderer(availableDrivers));
+        // Driver selection, filled by loadFormData
+        driverCombo = new JComboBox<>();
         formPanel.add(createLabeledCombo("Livreur", driverCombo));
 
         // Vehicle selection
-        List<Vehicle> allVehicles = deliveryController.getAllVehicles();
-        List<Vehicle> availableVehicles = deliveryController.getAvailableVehicles();
-
-        vehicleCombo = new JComboBox<>(allVehicles.toArray(new Vehicle[0]));
-        vehicleCombo.setRenderer(new VehicleComboRenderer(availableVehicles));
+        vehicleCombo = new JComboBox<>();
         formPanel.add(createLabeledCombo("Véhicule", vehicleCombo));
 
+        // Caller identification
+        callerPhoneField = new JTextField();
+        callerPhoneField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { identifyCaller(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { identifyCaller(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { identifyCaller(); }
+        });
+        callerPhoneField.addActionListener(e -> lookupCaller());
+        formPanel.add(createLabeledField("Téléphone de l'appelant", callerPhoneField));
+
+        callerMatchLabel = new JLabel(" ");
+        callerMatchLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        callerMatchLabel.setForeground(new Color(100, 100, 100));
+        JPanel callerMatchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 5));
+        callerMatchPanel.setOpaque(false);
+        callerMatchPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
+        callerMatchPanel.add(callerMatchLabel);
+        formPanel.add(callerMatchPanel);
+
         // Client selection
-        List<Client> clients = clientController.getAllClients();
-        clientCombo = new JComboBox<>(clients.toArray(new Client[0]));
+        clientCombo = new JComboBox<>();
         clientCombo.setRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
@@ -169,12 +250,6 @@ public class DeliveryPanel extends JPanel {
         JPanel summaryPanel = createOrderSummaryPanel();
         formPanel.add(summaryPanel);
 
-        if (clientCombo.getItemCount() > 0) {
-            selectedClient = (Client) clientCombo.getItemAt(0);
-            clientCombo.setSelectedIndex(0);
-            updateClientInfo();
-        }
-
         // Buttons panel
         JPanel buttonsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
         buttonsPanel.setOpaque(false);
@@ -186,7 +261,7 @@ public class DeliveryPanel extends JPanel {
         addPizzaButton.addActionListener(e -> showAddPizzaDialog());
         buttonsPanel.add(addPizzaButton);
 
-        JButton createButton = new JButton();
+        createButton = new JButton();
         AppTheme.styleButton(createButton, "Créer la Livraison", AppTheme.SUCCESS_COLOR);
         createButton.addActionListener(e -> {
             try {
@@ -204,6 +279,25 @@ public class DeliveryPanel extends JPanel {
         return formPanel;
     }
 
+    /**
+     * Fills the driver, vehicle and client combos in the background.
+     */
+    private void loadFormData() {
+        formLoader.load(() -> new FormData(deliveryController.getAllDrivers(), deliveryController.getAllVehicles(),
+                clientController.getAllClients(), deliveryController.getAvailability()), data -> {
+            driverCombo.setModel(new DefaultComboBoxModel<>(data.drivers().toArray(new DeliveryDriver[0])));
+            vehicleCombo.setModel(new DefaultComboBoxModel<>(data.vehicles().toArray(new Vehicle[0])));
+            showAvailability(data.availability());
+
+            // The first client is selected by the new model without any action event
+            clientCombo.setModel(new DefaultComboBoxModel<>(data.clients().toArray(new Client[0])));
+            updateClientInfo();
+        }, e -> {
+            log.error("Error loading delivery form data", e);
+            showErrorMessage("Erreur de chargement des livreurs, véhicules et clients: " + e.getMessage());
+        });
+    }
+
     private void updateClientInfo() {
         selectedClient = (Client) clientCombo.getSelectedItem();
         if (selectedClient != null) {
@@ -266,6 +360,14 @@ public class DeliveryPanel extends JPanel {
     }
 
     private void showAddPizzaDialog() {
+        // Loading the menu also loads the prices the dialog reads when a pizza is added
+        menuLoader.load(deliveryController::getAllPizzas, this::showAddPizzaDialog, e -> {
+            log.error("Error loading pizzas", e);
+            showErrorMessage("Erreur de chargement des pizzas: " + e.getMessage());
+        });
+    }
+
+    private void showAddPizzaDialog(List<Pizza> pizzas) {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Ajouter une Pizza", true);
         dialog.setLayout(new BorderLayout());
 
@@ -274,7 +376,6 @@ public class DeliveryPanel extends JPanel {
         contentPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Pizza selection
-        List<Pizza> pizzas = deliveryController.getAllPizzas();
         JComboBox<Pizza> pizzaCombo = new JComboBox<>(pizzas.toArray(new Pizza[0]));
         pizzaCombo.setRenderer(new DefaultListCellRenderer() {
             @Override
@@ -323,13 +424,8 @@ public class DeliveryPanel extends JPanel {
             PizzaSize selectedSize = (PizzaSize) sizeCombo.getSelectedItem();
             int quantity = (Integer) quantitySpinner.getValue();
 
-            OrderPizza orderPizza = new OrderPizza();
-            orderPizza.setPizza(selectedPizza);
-            orderPizza.setPizzaSize(selectedSize);
-            orderPizza.setQuantity(quantity);
-            orderPizza.setPizzaPrice(deliveryController.calculatePizzaPrice(selectedPizza, selectedSize));
-
-            selectedPizzas.add(orderPizza);
+            cart.add(selectedPizza, selectedSize, quantity,
+                    deliveryController.calculatePizzaPriceCents(selectedPizza, selectedSize));
             updateSelectedPizzasPanel();
             dialog.dispose();
         });
@@ -347,97 +443,18 @@ public class DeliveryPanel extends JPanel {
     private void updateSelectedPizzasPanel() {
         JPanel selectedPizzasPanel = (JPanel) ((JScrollPane) pizzaSelectionPanel.getComponent(0)).getViewport().getView();
         selectedPizzasPanel.removeAll();
-
-        List<Boolean> previousStates = new ArrayList<>();
-        for (JCheckBox checkbox : freePizzaCheckboxes) {
-            previousStates.add(checkbox.isSelected());
-        }
-
-        freePizzaCheckboxes.clear();
+        loyaltyCheckboxes.clear();
 
         if (selectedClient == null) {
-            selectedPizzasPanel.revalidate();
-            selectedPizzasPanel.repaint();
-            updateOrderSummary();
-            return;
-        }
-
-        int availableFreePizzas = selectedClient.getLoyaltyCounter() / 10;
-
-        for (int i = 0; i < selectedPizzas.size(); i++) {
-            OrderPizza orderPizza = selectedPizzas.get(i);
-
-            JPanel pizzaPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
-            pizzaPanel.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
-            pizzaPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
-            pizzaPanel.setPreferredSize(new Dimension(480, 40));
-            pizzaPanel.setOpaque(false);
-
-            String pizzaText = String.format("%dx %s (%s) - %.2f€",
-                    orderPizza.getQuantity(),
-                    orderPizza.getPizza().getPizzaName(),
-                    orderPizza.getPizzaSize().getDisplayName(),
-                    orderPizza.getPizzaPrice().multiply(new BigDecimal(orderPizza.getQuantity())));
-
-            JLabel pizzaLabel = new JLabel(pizzaText);
-            pizzaLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-            pizzaLabel.setPreferredSize(new Dimension(250, 25));
-            pizzaLabel.setVerticalAlignment(SwingConstants.CENTER);
-            pizzaPanel.add(pizzaLabel);
-
-            pizzaPanel.add(Box.createHorizontalStrut(10));
-
-            JCheckBox loyaltyCheckbox = new JCheckBox("Fidélité (gratuite)");
-            loyaltyCheckbox.setFont(new Font("Arial", Font.PLAIN, 11));
-            loyaltyCheckbox.setOpaque(false);
-            loyaltyCheckbox.setPreferredSize(new Dimension(120, 25));
-
-            if (i < previousStates.size()) {
-                loyaltyCheckbox.setSelected(previousStates.get(i));
-            }
-
-            freePizzaCheckboxes.add(loyaltyCheckbox);
-
-            int usedFreePizzas = 0;
-            for (JCheckBox cb : freePizzaCheckboxes) {
-                if (cb.isSelected()) {
-                    usedFreePizzas++;
-                }
+            // Loyalty points belong to a client: their choices go away with the client
+            for (OrderPizza orderPizza : cart.getLines()) {
+                cart.setLoyalty(orderPizza, false);
             }
-
-            boolean canUseLoyalty = usedFreePizzas < availableFreePizzas || loyaltyCheckbox.isSelected();
-            loyaltyCheckbox.setEnabled(canUseLoyalty);
-
-            if (!loyaltyCheckbox.isEnabled()) {
-                loyaltyCheckbox.setToolTipText("Points de fidélité insuffisants");
-            } else {
-                loyaltyCheckbox.setToolTipText("Utiliser 10 points de fidélité pour cette pizza");
+        } else {
+            for (OrderPizza orderPizza : cart.getLines()) {
+                selectedPizzasPanel.add(createSelectedPizzaRow(orderPizza));
             }
-
-            loyaltyCheckbox.addActionListener(e -> {
-                updateCheckboxAvailability();
-                updateOrderSummary();
-            });
-
-            pizzaPanel.add(loyaltyCheckbox);
-
-            JButton removeButton = new JButton("X");
-            removeButton.setPreferredSize(new Dimension(25, 25));
-            removeButton.setFont(new Font("Arial", Font.BOLD, 12));
-            removeButton.setForeground(Color.RED);
-            removeButton.setBackground(Color.WHITE);
-            removeButton.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
-            removeButton.setFocusPainted(false);
-            removeButton.setToolTipText("Supprimer cette pizza");
-
-            removeButton.addActionListener(e -> {
-                selectedPizzas.remove(orderPizza);
-                updateSelectedPizzasPanel();
-                updateOrderSummary();
-            });
-
-            pizzaPanel.add(removeButton);
-            selectedPizzasPanel.add(pizzaPanel);
+            updateCheckboxAvailability();
         }
 
         selectedPizzasPanel.revalidate();
@@ -445,76 +462,94 @@ public class DeliveryPanel extends JPanel {
         updateOrderSummary();
     }
 
+    private JPanel createSelectedPizzaRow(OrderPizza orderPizza) {
+        JPanel pizzaPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
+        pizzaPanel.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
+        pizzaPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
+        pizzaPanel.setPreferredSize(new Dimension(480, 40));
+        pizzaPanel.setOpaque(false);
+
+        String pizzaText = String.format("%dx %s (%s) - %.2f€",
+                orderPizza.getQuantity(),
+                orderPizza.getPizza().getPizzaName(),
+                orderPizza.getPizzaSize().getDisplayName(),
+                orderPizza.getPizzaPrice().multiply(new BigDecimal(orderPizza.getQuantity())));
+
+        JLabel pizzaLabel = new JLabel(pizzaText);
+        pizzaLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        pizzaLabel.setPreferredSize(new Dimension(250, 25));
+        pizzaLabel.setVerticalAlignment(SwingConstants.CENTER);
+        pizzaPanel.add(pizzaLabel);
+
+        pizzaPanel.add(Box.createHorizontalStrut(10));
+
+        JCheckBox loyaltyCheckbox = new JCheckBox("Fidélité (gratuite)");
+        loyaltyCheckbox.setFont(new Font("Arial", Font.PLAIN, 11));
+        loyaltyCheckbox.setOpaque(false);
+        loyaltyCheckbox.setPreferredSize(new Dimension(120, 25));
+        loyaltyCheckbox.setSelected(orderPizza.getFreeReason() == FreeReason.LOYALTY);
+
+        loyaltyCheckbox.addActionListener(e -> {
+            cart.setLoyalty(orderPizza, loyaltyCheckbox.isSelected());
+            updateCheckboxAvailability();
+            updateOrderSummary();
+        });
+
+        loyaltyCheckboxes.add(loyaltyCheckbox);
+        pizzaPanel.add(loyaltyCheckbox);
+
+        JButton removeButton = new JButton("X");
+        removeButton.setPreferredSize(new Dimension(25, 25));
+        removeButton.setFont(new Font("Arial", Font.BOLD, 12));
+        removeButton.setForeground(Color.RED);
+        removeButton.setBackground(Color.WHITE);
+        removeButton.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+        removeButton.setFocusPainted(false);
+        removeButton.setToolTipText("Supprimer cette pizza");
+
+        removeButton.addActionListener(e -> {
+            cart.remove(orderPizza);
+            updateSelectedPizzasPanel();
+        });
+
+        pizzaPanel.add(removeButton);
+        return pizzaPanel;
+    }
+
     private void updateCheckboxAvailability() {
         if (selectedClient == null) return;
 
-        int availableFreePizzas = selectedClient.getLoyaltyCounter() / 10;
-        int usedFreePizzas = 0;
-
-        for (JCheckBox checkbox : freePizzaCheckboxes) {
-            if (checkbox.isSelected()) {
-                usedFreePizzas++;
-            }
-        }
+        boolean canSelect = cart.canUseLoyalty(selectedClient.getLoyaltyCounter());
 
-        for (JCheckBox checkbox : freePizzaCheckboxes) {
-            if (checkbox.isSelected()) {
-                checkbox.setEnabled(true);
+        for (JCheckBox checkbox : loyaltyCheckboxes) {
+            boolean enabled = checkbox.isSelected() || canSelect;
+            checkbox.setEnabled(enabled);
+            if (enabled) {
                 checkbox.setToolTipText("Utiliser 10 points de fidélité pour cette pizza");
             } else {
-                boolean canSelect = usedFreePizzas < availableFreePizzas;
-                checkbox.setEnabled(canSelect);
-                if (canSelect) {
-                    checkbox.setToolTipText("Utiliser 10 points de fidélité pour cette pizza");
-                } else {
-                    checkbox.setToolTipText("Points de fidélité insuffisants");
-                }
+                checkbox.setToolTipText("Points de fidélité insuffisants");
             }
         }
     }
 
     private void updateOrderSummary() {
-        if (selectedPizzas.isEmpty()) {
+        if (cart.isEmpty()) {
             orderSummaryLabel.setText("Aucune pizza sélectionnée");
             return;
         }
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        BigDecimal loyaltyDiscount = BigDecimal.ZERO;
-        int freePizzasUsed = 0;
-
-        for (int i = 0; i < selectedPizzas.size(); i++) {
-            OrderPizza pizza = selectedPizzas.get(i);
-            BigDecimal unitPrice = pizza.getPizzaPrice();
-            int quantity = pizza.getQuantity();
-
-            if (i < freePizzaCheckboxes.size() && freePizzaCheckboxes.get(i).isSelected()) {
-                loyaltyDiscount = loyaltyDiscount.add(unitPrice);
-                freePizzasUsed++;
-
-                if (quantity > 1) {
-                    BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
-                    totalPrice = totalPrice.add(remainingTotal);
-                }
-            } else {
-                BigDecimal pizzaTotal = unitPrice.multiply(new BigDecimal(quantity));
-                totalPrice = totalPrice.add(pizzaTotal);
-            }
-        }
-
         StringBuilder summary = new StringBuilder();
         summary.append("<html>");
 
-        if (loyaltyDiscount.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal originalTotal = totalPrice.add(loyaltyDiscount);
-            summary.append(String.format("Sous-total: %.2f€<br>", originalTotal.doubleValue()));
+        if (cart.freePizzas() > 0) {
+            summary.append(String.format("Sous-total: %.2f€<br>", cart.subtotal().toBigDecimal()));
             summary.append(String.format("Remise fidélité (%d pizza%s): -%.2f€<br>",
-                    freePizzasUsed,
-                    freePizzasUsed > 1 ? "s" : "",
-                    loyaltyDiscount.doubleValue()));
-            summary.append(String.format("<b>Total à payer: %.2f€</b>", totalPrice.doubleValue()));
+                    cart.freePizzas(),
+                    cart.freePizzas() > 1 ? "s" : "",
+                    cart.loyaltyDiscount().toBigDecimal()));
+            summary.append(String.format("<b>Total à payer: %.2f€</b>", cart.total().toBigDecimal()));
         } else {
-            summary.append(String.format("<b>Total: %.2f€</b>", totalPrice.doubleValue()));
+            summary.append(String.format("<b>Total: %.2f€</b>", cart.total().toBigDecimal()));
         }
 
         summary.append("</html>");
@@ -532,80 +567,69 @@ public class DeliveryPanel extends JPanel {
         if (selectedClient == null) {
             throw new IllegalArgumentException("Veuillez sélectionner un client valide");
         }
-        if (selectedPizzas.isEmpty()) {
+        if (cart.isEmpty()) {
             throw new IllegalArgumentException("Veuillez ajouter au moins une pizza");
         }
 
-        // Free pizzas
-        List<Integer> freePizzaIndices = new ArrayList<>();
-        for (int i = 0; i < freePizzaCheckboxes.size(); i++) {
-            if (freePizzaCheckboxes.get(i).isSelected()) {
-                freePizzaIndices.add(i);
-            }
-        }
-
-        BigDecimal totalToPay = BigDecimal.ZERO;
-        for (int i = 0; i < selectedPizzas.size(); i++) {
-            OrderPizza pizza = selectedPizzas.get(i);
-            BigDecimal unitPrice = pizza.getPizzaPrice();
-            int quantity = pizza.getQuantity();
-
-            if (freePizzaIndices.contains(i)) {
-                if (quantity > 1) {
-                    BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
-                    totalToPay = totalToPay.add(remainingTotal);
-                }
-            } else {
-                BigDecimal pizzaTotal = unitPrice.multiply(new BigDecimal(quantity));
-                totalToPay = totalToPay.add(pizzaTotal);
-            }
-        }
-
-        if (selectedClient.getAmount().compareTo(totalToPay) < 0) {
-            showErrorMessage(String.format("Solde insuffisant.\nSolde disponible: %.2f€\nTotal à payer: %.2f€",
-                    selectedClient.getAmount().doubleValue(), totalToPay.doubleValue()));
-            return;
-        }
-
-        log.info("Creating order with {} pizzas, {} free pizzas (loyalty), total: {}€",
-                selectedPizzas.size(), freePizzaIndices.size(), totalToPay.doubleValue());
-
-        Result<Order> result = deliveryController.createDelivery(
+        Result<OrderDraft> draft = deliveryController.draftDelivery(
                 (DeliveryDriver) driverCombo.getSelectedItem(),
                 (Vehicle) vehicleCombo.getSelectedItem(),
                 selectedClient,
-                selectedPizzas,
-                "BALANCE",
-                freePizzaIndices
+                cart,
+                null
         );
-
-        if (result.isSuccess()) {
-            refreshAllClientData();
-            resetForm();
-            loadOrders();
-            showSuccessMessage("Livraison créée avec succès !");
-        } else {
-            showErrorMessage(String.join("\n", result.getErrors()));
+        if (draft.isFailure()) {
+            showErrorMessage(String.join("\n", draft.getErrors()));
+            return;
         }
+        if (submittedDraft == null || !draft.getData().equals(submittedDraft.withIdempotencyKey(null))) {
+            submittedDraft = draft.getData().withIdempotencyKey(UUID.randomUUID().toString());
+        }
+        OrderDraft submission = submittedDraft;
+
+        // Balance and loyalty points are checked against the database when the order is placed
+        log.info("Creating order with {} pizzas, {} free pizzas (loyalty)",
+                cart.getLines().size(), cart.freePizzas());
+
+        Integer clientId = selectedClient.getClientId();
+        createButton.setEnabled(false);
+        deliveryLoader.load(() -> deliveryController.placeDelivery(submission), result -> {
+            createButton.setEnabled(true);
+            // The new order and the charged client are applied from their events
+            if (result.isSuccess()) {
+                resetForm();
+                showSuccessMessage("Livraison créée avec succès !");
+            } else {
+                // The displayed balance may have been stale
+                refreshClients(List.of(clientId));
+                showErrorMessage(String.join("\n", result.getErrors()));
+            }
+        }, e -> {
+            createButton.setEnabled(true);
+            log.error("Error creating delivery", e);
+            showErrorMessage("Erreur lors de la création de la livraison: " + e.getMessage());
+        });
     }
 
     private void refreshAvailabilityIndicators() {
-        List<DeliveryDriver> availableDrivers = deliveryController.getAvailableDrivers();
-        driverCombo.setRenderer(new DriverComboRenderer(availableDrivers));
+        availabilityLoader.load(deliveryController::getAvailability, this::showAvailability);
+    }
 
-        List<Vehicle> availableVehicles = deliveryController.getAvailableVehicles();
-        vehicleCombo.setRenderer(new VehicleComboRenderer(availableVehicles));
+    private void showAvailability(Availability availability) {
+        driverCombo.setRenderer(new DriverComboRenderer(availability));
+        vehicleCombo.setRenderer(new VehicleComboRenderer(availability));
 
         driverCombo.repaint();
         vehicleCombo.repaint();
     }
 
     private void resetForm() {
+        submittedDraft = null;
         if (driverCombo.getItemCount() > 0) driverCombo.setSelectedIndex(0);
         if (vehicleCombo.getItemCount() > 0) vehicleCombo.setSelectedIndex(0);
         if (clientCombo.getItemCount() > 0) clientCombo.setSelectedIndex(0);
-        selectedPizzas.clear();
-        freePizzaCheckboxes.clear();
+        callerPhoneField.setText("");
+        cart.clear();
         updateSelectedPizzasPanel();
         updateClientInfo();
         refreshAvailabilityIndicators();
@@ -630,19 +654,46 @@ public class DeliveryPanel extends JPanel {
 
         ordersContainer.add(headerPanel, BorderLayout.NORTH);
 
-        ordersPanel = new JPanel();
-        ordersPanel.setLayout(new BoxLayout(ordersPanel, BoxLayout.Y_AXIS));
-        ordersPanel.setOpaque(true);
-        ordersPanel.setBackground(Color.WHITE);
+        // One renderer paints every row: only the visible orders cost paint time
+        orderListModel = new OrderListModel();
+        orderList = new JList<>(orderListModel);
+        orderList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        orderList.setCellRenderer(new OrderCellRenderer());
+        orderList.setFixedCellHeight(ORDER_ROW_HEIGHT);
+        orderList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showOrderDetails(orderList.getSelectedValue());
+            }
+        });
 
-        JScrollPane scrollPane = new JScrollPane(ordersPanel);
+        JScrollPane scrollPane = new JScrollPane(orderList);
         scrollPane.setBorder(null);
-        scrollPane.setOpaque(false);
-        scrollPane.getViewport().setOpaque(false);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+
+        // Load the next page when the operator scrolls near the bottom of the list
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = (JScrollBar) e.getAdjustable();
+            if (!e.getValueIsAdjusting() && hasMoreOrders
+                    && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - 100) {
+                loadNextOrdersPage();
+            }
+        });
+
+        // Details and actions of the selected order
+        orderDetailsPanel = new JPanel(new BorderLayout());
+        orderDetailsPanel.setBackground(Color.WHITE);
+        JScrollPane detailsScrollPane = new JScrollPane(orderDetailsPanel);
+        detailsScrollPane.setBorder(null);
+        detailsScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        detailsScrollPane.getVerticalScrollBar().setUnitIncrement(16);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, scrollPane, detailsScrollPane);
+        splitPane.setResizeWeight(0.5);
+        splitPane.setBorder(null);
 
-        ordersContainer.add(scrollPane, BorderLayout.CENTER);
+        ordersContainer.add(splitPane, BorderLayout.CENTER);
         return ordersContainer;
     }
 
@@ -673,54 +724,174 @@ public class DeliveryPanel extends JPanel {
     }
 
     public void loadOrders() {
-        ordersPanel.removeAll();
+        String selectedFilter = (String) orderFilterCombo.getSelectedItem();
+        Set<OrderStatus> statuses = getStatusesByFilter(selectedFilter);
+        log.info("Loading orders with filter: {}", selectedFilter);
 
-        try {
-            String selectedFilter = (String) orderFilterCombo.getSelectedItem();
-            log.info("Loading orders with filter: {}", selectedFilter);
+        // Cleared while loading so that scroll events cannot request a page of the previous list
+        hasMoreOrders = false;
 
-            List<Order> orders = getOrdersByFilter(selectedFilter);
-            log.info("Found {} orders for filter {}", orders.size(), selectedFilter);
+        ordersLoader.load(() -> deliveryController.getOrdersPage(statuses, null, ORDERS_PAGE_SIZE), page -> {
+            log.info("Found {} orders for filter {}", page.items().size(), selectedFilter);
+            // Read when applied: the selection may have changed while loading
+            OrderView selectedOrder = orderList.getSelectedValue();
+            orderListModel.clear();
+            nextOrdersCursor = null;
 
-            if (orders.isEmpty()) {
+            if (page.items().isEmpty()) {
                 showNoOrdersMessage("Aucune commande trouvée pour ce filtre");
             } else {
-                for (Order order : orders) {
-                    JPanel orderCard = createOrderCard(order);
-                    ordersPanel.add(orderCard);
-                    ordersPanel.add(Box.createVerticalStrut(10));
+                appendOrdersPage(page);
+                if (selectedOrder != null) {
+                    selectOrder(selectedOrder.orderId());
                 }
             }
+        }, e -> {
+            log.error("Error loading orders with filter", e);
+            showNoOrdersMessage("Erreur de chargement: " + e.getMessage());
+        });
+
+        refreshAvailabilityIndicators();
+    }
+
+    private void loadNextOrdersPage() {
+        // Cleared while loading so that scroll events fired by the relayout are ignored
+        hasMoreOrders = false;
+
+        String selectedFilter = (String) orderFilterCombo.getSelectedItem();
+        Set<OrderStatus> statuses = getStatusesByFilter(selectedFilter);
+        OrderCursor after = nextOrdersCursor;
+
+        ordersLoader.load(() -> deliveryController.getOrdersPage(statuses, after, ORDERS_PAGE_SIZE), page -> {
+            log.debug("Loaded {} more orders for filter {}", page.items().size(), selectedFilter);
+            appendOrdersPage(page);
+        }, e -> {
+            log.error("Error loading next orders page", e);
+            // The cursor is unchanged: scrolling down again retries the same page
+            hasMoreOrders = true;
+        });
+    }
+
+    private void appendOrdersPage(OrderPage<OrderView> page) {
+        orderListModel.addAll(page.items());
+
+        nextOrdersCursor = page.nextCursor();
+        hasMoreOrders = page.hasNext();
+    }
+
+    private void selectOrder(Integer orderId) {
+        int index = orderListModel.indexOf(orderId);
+        if (index >= 0) {
+            orderList.setSelectedIndex(index);
+        } else {
+            showOrderDetails(null);
+        }
+    }
 
-            ordersPanel.revalidate();
-            ordersPanel.repaint();
+    /**
+     * Applies a burst of changes published by the services, whichever terminal made them.
+     */
+    private void applyDomainEvents(List<DomainEvent> events) {
+        Set<Integer> orderIds = new LinkedHashSet<>();
+        Set<Integer> clientIds = new LinkedHashSet<>();
+
+        for (DomainEvent event : events) {
+            switch (event) {
+                case OrderPlaced placed -> orderIds.add(placed.orderId());
+                case OrderStatusChanged changed -> orderIds.add(changed.orderId());
+                case OrderChanged changed -> orderIds.add(changed.orderId());
+                case ClientChanged changed when changed.deleted() -> removeClient(changed.clientId());
+                case ClientChanged changed -> clientIds.add(changed.clientId());
+                case ClientBalanceChanged changed -> clientIds.add(changed.clientId());
+                default -> {
+                }
+            }
+        }
 
+        if (!orderIds.isEmpty()) {
+            refreshOrders(orderIds);
             refreshAvailabilityIndicators();
+        }
+        if (!clientIds.isEmpty()) {
+            refreshClients(clientIds);
+        }
+    }
 
-            SwingUtilities.invokeLater(() -> {
-                revalidate();
-                repaint();
-            });
+    /**
+     * Reloads the given orders, along with the changed orders still waiting to be applied,
+     * then applies them to the list.
+     */
+    private void refreshOrders(Collection<Integer> orderIds) {
+        pendingOrderIds.addAll(orderIds);
+        List<Integer> ids = List.copyOf(pendingOrderIds);
+        orderChangesLoader.load(() -> deliveryController.getOrderViews(ids), orders -> {
+            pendingOrderIds.removeAll(ids);
+            applyOrderChanges(ids, orders);
+        }, e -> log.error("Error refreshing orders {}", ids, e));
+    }
 
-            log.info("Orders loading completed successfully for filter: {}", selectedFilter);
-        } catch (Exception e) {
-            log.error("Error loading orders with filter", e);
-            showNoOrdersMessage("Erreur de chargement: " + e.getMessage());
+    /**
+     * Applies the current state of changed orders to the list: each order is inserted or
+     * replaced if it matches the filter, removed otherwise.
+     *
+     * @param orderIds Changed orders
+     * @param orders   Current state of those still existing
+     */
+    private void applyOrderChanges(Collection<Integer> orderIds, List<OrderView> orders) {
+        Map<Integer, OrderView> ordersById = orders.stream()
+                .collect(Collectors.toMap(OrderView::orderId, Function.identity()));
+        Set<OrderStatus> statuses = getStatusesByFilter((String) orderFilterCombo.getSelectedItem());
+        OrderView selectedOrder = orderList.getSelectedValue();
+
+        for (Integer orderId : orderIds) {
+            OrderView order = ordersById.get(orderId);
+            if (order != null && statuses.contains(order.orderStatus())) {
+                orderListModel.upsert(order, !hasMoreOrders);
+            } else {
+                orderListModel.remove(orderId);
+            }
+        }
+
+        if (orderListModel.isEmpty()) {
+            showNoOrdersMessage("Aucune commande trouvée pour ce filtre");
+        } else if (orderList.isSelectionEmpty()) {
+            showOrderDetails(null);
+        } else if (selectedOrder != null && ordersById.containsKey(selectedOrder.orderId())) {
+            showOrderDetails(orderList.getSelectedValue());
         }
     }
 
-    private List<Order> getOrdersByFilter(String filter) {
+    private void repaintOrders() {
+        orderList.repaint();
+        OrderView selectedOrder = orderList.getSelectedValue();
+        if (selectedOrder != null) {
+            showOrderDetails(selectedOrder);
+        }
+    }
+
+    private void showOrderDetails(OrderView order) {
+        orderDetailsPanel.removeAll();
+        if (order != null) {
+            orderDetailsPanel.add(createOrderCard(order), BorderLayout.NORTH);
+        } else if (!orderListModel.isEmpty()) {
+            orderDetailsPanel.add(createPlaceholderLabel("Sélectionnez une commande pour afficher son détail"),
+                    BorderLayout.NORTH);
+        }
+        orderDetailsPanel.revalidate();
+        orderDetailsPanel.repaint();
+    }
+
+    private Set<OrderStatus> getStatusesByFilter(String filter) {
         return switch (filter) {
-            case "Commandes actives" -> deliveryController.getActiveOrders();
-            case "En attente" -> deliveryController.getOrdersByStatus(OrderStatus.PENDING);
-            case "En cours de livraison" -> deliveryController.getOrdersByStatus(OrderStatus.IN_PROGRESS);
-            case "Livrées" -> deliveryController.getOrdersByStatus(OrderStatus.DELIVERED);
-            case "Toutes" -> deliveryController.getAllOrders();
-            default -> deliveryController.getActiveOrders();
+            case "En attente" -> EnumSet.of(OrderStatus.PENDING);
+            case "En Cours de livraison" -> EnumSet.of(OrderStatus.IN_PROGRESS);
+            case "Livrées" -> EnumSet.of(OrderStatus.DELIVERED);
+            case "Toutes" -> EnumSet.allOf(OrderStatus.class);
+            default -> EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PROGRESS); // "Commandes actives"
         };
     }
 
-    private JPanel createOrderCard(Order order) {
+    private JPanel createOrderCard(OrderView order) {
         JPanel card = new JPanel(new BorderLayout());
         card.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createLineBorder(Color.GRAY),
@@ -742,12 +913,12 @@ public class DeliveryPanel extends JPanel {
         leftHeader.setBackground(Color.WHITE);
         leftHeader.setOpaque(true);
 
-        JLabel orderIdLabel = new JLabel("Commande #" + order.getOrderId());
+        JLabel orderIdLabel = new JLabel("Commande #" + order.orderId());
         orderIdLabel.setFont(new Font("Arial", Font.BOLD, 16));
         leftHeader.add(orderIdLabel);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        JLabel dateLabel = new JLabel("Créée le " + order.getOrderDate().format(formatter));
+        JLabel dateLabel = new JLabel("Créée le " + order.orderDate().format(formatter));
         dateLabel.setFont(new Font("Arial", Font.PLAIN, 12));
         dateLabel.setForeground(Color.GRAY);
         leftHeader.add(dateLabel);
@@ -758,9 +929,9 @@ public class DeliveryPanel extends JPanel {
         rightHeader.setBackground(Color.WHITE);
         rightHeader.setOpaque(true);
 
-        JLabel statusLabel = new JLabel(order.getOrderStatus().getDisplayName());
+        JLabel statusLabel = new JLabel(order.orderStatus().getDisplayName());
         statusLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        statusLabel.setForeground(order.getOrderStatus() == OrderStatus.PENDING ? Color.ORANGE : Color.BLUE);
+        statusLabel.setForeground(order.orderStatus() == OrderStatus.PENDING ? Color.ORANGE : Color.BLUE);
         rightHeader.add(statusLabel);
 
         headerPanel.add(rightHeader, BorderLayout.EAST);
@@ -784,7 +955,7 @@ public class DeliveryPanel extends JPanel {
         return card;
     }
 
-    private JPanel createOrderDetailsPanel(Order order) {
+    private JPanel createOrderDetailsPanel(OrderView order) {
         JPanel detailsPanel = new JPanel();
         detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
         detailsPanel.setBackground(Color.WHITE);
@@ -792,46 +963,44 @@ public class DeliveryPanel extends JPanel {
         detailsPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
 
         // Delivery time (if delivered)
-        if (order.getDeliveredAt() != null) {
+        if (order.deliveredAt() != null) {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-            JLabel deliveredLabel = new JLabel("Livrée: " + order.getDeliveredAt().format(formatter));
+            JLabel deliveredLabel = new JLabel("Livrée: " + order.deliveredAt().format(formatter));
             deliveredLabel.setFont(new Font("Arial", Font.PLAIN, 14));
             detailsPanel.add(deliveredLabel);
         }
 
         // Client info
-        if (order.getClient() != null) {
-            String clientName = (order.getClient().getFirstName() != null ? order.getClient().getFirstName() : "") +
-                    " " + (order.getClient().getLastName() != null ? order.getClient().getLastName() : "");
-            JLabel clientLabel = new JLabel("Client: " + clientName.trim());
+        if (order.clientId() != null) {
+            JLabel clientLabel = new JLabel("Client: " + order.clientName());
             clientLabel.setFont(new Font("Arial", Font.PLAIN, 14));
             detailsPanel.add(clientLabel);
 
-            if (order.getClient().getClientAddress() != null) {
-                JLabel addressLabel = new JLabel("Adresse: " + order.getClient().getClientAddress());
+            if (order.clientAddress() != null) {
+                JLabel addressLabel = new JLabel("Adresse: " + order.clientAddress());
                 addressLabel.setFont(new Font("Arial", Font.PLAIN, 14));
                 detailsPanel.add(addressLabel);
             }
         }
 
         // Driver info
-        if (order.getDriver() != null) {
-            JLabel driverLabel = new JLabel("Livreur: " + order.getDriver().getFirstName() + " " + order.getDriver().getLastName());
+        if (order.driverName() != null) {
+            JLabel driverLabel = new JLabel("Livreur: " + order.driverName());
             driverLabel.setFont(new Font("Arial", Font.PLAIN, 14));
             detailsPanel.add(driverLabel);
         }
 
         // Pizza details
         try {
-            for (OrderPizza orderPizza : order.getOrderItems()) {
+            for (OrderLineView orderPizza : order.items()) {
                 String pizzaText;
 
                 if (orderPizza.isFree()) {
                     pizzaText = String.format("%dx %s (%s) GRATUITE - %s",
-                            orderPizza.getQuantity(),
-                            orderPizza.getPizza().getPizzaName(),
-                            orderPizza.getPizzaSize().getDisplayName(),
-                            orderPizza.getFreeReason().getDisplayName());
+                            orderPizza.quantity(),
+                            orderPizza.pizzaName(),
+                            orderPizza.pizzaSize().getDisplayName(),
+                            orderPizza.freeReason().getDisplayName());
 
                     JLabel pizzaLabel = new JLabel(pizzaText);
                     pizzaLabel.setFont(new Font("Arial", Font.BOLD, 14));
@@ -839,10 +1008,10 @@ public class DeliveryPanel extends JPanel {
                     detailsPanel.add(pizzaLabel);
                 } else {
                     pizzaText = String.format("%dx %s (%s) - %.2f€",
-                            orderPizza.getQuantity(),
-                            orderPizza.getPizza().getPizzaName(),
-                            orderPizza.getPizzaSize().getDisplayName(),
-                            orderPizza.getPizzaPrice().multiply(new BigDecimal(orderPizza.getQuantity())));
+                            orderPizza.quantity(),
+                            orderPizza.pizzaName(),
+                            orderPizza.pizzaSize().getDisplayName(),
+                            orderPizza.pizzaPrice().multiply(new BigDecimal(orderPizza.quantity())));
 
                     JLabel pizzaLabel = new JLabel(pizzaText);
                     pizzaLabel.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -850,7 +1019,7 @@ public class DeliveryPanel extends JPanel {
                 }
             }
         } catch (Exception e) {
-            log.warn("Error formatting order details for order #{}", order.getOrderId(), e);
+            log.warn("Error formatting order details for order #{}", order.orderId(), e);
             JLabel pizzasLabel = new JLabel("Pizzas: Détails indisponibles");
             pizzasLabel.setFont(new Font("Arial", Font.PLAIN, 14));
             detailsPanel.add(pizzasLabel);
@@ -858,12 +1027,12 @@ public class DeliveryPanel extends JPanel {
 
         // Total
         try {
-            double total = deliveryController.calculateOrderTotal(order);
-            JLabel totalLabel = new JLabel(String.format("Total: %.2f €", total));
+            Money total = deliveryController.calculateOrderTotal(order);
+            JLabel totalLabel = new JLabel(String.format("Total: %.2f €", total.toBigDecimal()));
             totalLabel.setFont(new Font("Arial", Font.BOLD, 14));
             detailsPanel.add(totalLabel);
         } catch (Exception e) {
-            log.warn("Error calculating total for order #{}", order.getOrderId(), e);
+            log.warn("Error calculating total for order #{}", order.orderId(), e);
         }
 
         // Late indicator
@@ -875,98 +1044,160 @@ public class DeliveryPanel extends JPanel {
                 detailsPanel.add(lateLabel);
             }
         } catch (Exception e) {
-            log.warn("Error checking delivery delay for order #{}", order.getOrderId(), e);
+            log.warn("Error checking delivery delay for order #{}", order.orderId(), e);
         }
 
         return detailsPanel;
     }
 
-    private JPanel createOrderButtonsPanel(Order order) {
+    private JPanel createOrderButtonsPanel(OrderView order) {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.setBackground(Color.WHITE);
         buttonPanel.setOpaque(true);
 
-        if (order.getOrderStatus() == OrderStatus.PENDING) {
+        if (order.orderStatus() == OrderStatus.PENDING) {
             JButton startButton = new JButton();
             AppTheme.styleButton(startButton, "Démarrer Livraison", AppTheme.INFO_COLOR);
             startButton.setPreferredSize(new Dimension(160, 35));
-            startButton.addActionListener(e -> updateOrderStatus(order.getOrderId(), OrderStatus.IN_PROGRESS));
+            startButton.addActionListener(e -> updateOrderStatus(startButton, order.orderId(), OrderStatus.IN_PROGRESS));
             buttonPanel.add(startButton);
-        } else if (order.getOrderStatus() == OrderStatus.IN_PROGRESS) {
+        } else if (order.orderStatus() == OrderStatus.IN_PROGRESS) {
             JButton completeButton = new JButton();
             AppTheme.styleButton(completeButton, "Terminer Livraison", AppTheme.SUCCESS_COLOR);
             completeButton.setPreferredSize(new Dimension(160, 35));
-            completeButton.addActionListener(e -> updateOrderStatus(order.getOrderId(), OrderStatus.DELIVERED));
+            completeButton.addActionListener(e -> updateOrderStatus(completeButton, order.orderId(),
+                    OrderStatus.DELIVERED));
             buttonPanel.add(completeButton);
         }
 
         return buttonPanel;
     }
 
-    private void updateOrderStatus(Integer orderId, OrderStatus newStatus) {
-        Result<Order> result = deliveryController.updateOrderStatus(orderId, newStatus);
+    private void updateOrderStatus(JButton button, Integer orderId, OrderStatus newStatus) {
+        button.setEnabled(false);
+        // A loader of its own: changing another order meanwhile must not discard the outcome of this change
+        new AsyncLoader(this).load(() -> deliveryController.updateOrderStatus(orderId, newStatus), result -> {
+            // The order and the client refunded for a late delivery are applied from their events
+            if (result.isFailure()) {
+                button.setEnabled(true);
+                showErrorMessage("Erreur lors de la mise à jour du statut: " + String.join("\n", result.getErrors()));
+            }
+        }, e -> {
+            button.setEnabled(true);
+            log.error("Error updating status of order #{}", orderId, e);
+            showErrorMessage("Erreur lors de la mise à jour du statut: " + e.getMessage());
+        });
+    }
 
-        if (result.isSuccess()) {
-            loadOrders();
+    /**
+     * Selects the client whose number starts with the digits typed so far, as soon as
+     * only one client matches.
+     */
+    private void identifyCaller() {
+        String number = callerPhoneField.getText();
+        if (number.isBlank()) {
+            callerLoader.cancel();
+            callerMatchLabel.setText(" ");
+            return;
+        }
 
-            if (newStatus == OrderStatus.DELIVERED) {
-                refreshAllClientData();
+        // The directory is read from the database on first use; each digit typed supersedes the previous lookup
+        callerLoader.load(() -> clientController.resolveCaller(number)
+                .map(clientId -> new CallerMatch(clientId, 1))
+                .orElseGet(() -> new CallerMatch(null, clientController.countCallerMatches(number))), match -> {
+            if (match.clientId() != null) {
+                callerMatchLabel.setText(selectClient(match.clientId()) ? "Client identifié" : "Client non chargé");
+            } else {
+                callerMatchLabel.setText(match.matches() == 0 ? "Aucun client avec ce numéro"
+                        : match.matches() + " clients correspondent");
             }
-        } else {
-            showErrorMessage("Erreur lors de la mise à jour du statut: " + String.join("\n", result.getErrors()));
-        }
+        }, e -> log.error("Error identifying caller {}", number, e));
     }
 
-    private void refreshAllClientData() {
-        try {
-            Integer selectedClientId = selectedClient != null ? selectedClient.getClientId() : null;
-
-            List<Client> updatedClients = clientController.getAllClients();
+    /**
+     * Looks up the complete number typed in the caller field.
+     */
+    private void lookupCaller() {
+        String number = callerPhoneField.getText();
+        callerLoader.load(() -> clientController.findClientByPhone(number), caller -> caller
+                .ifPresentOrElse(client -> {
+                    if (!selectClient(client.getClientId())) {
+                        clientCombo.addItem(client);
+                        clientCombo.setSelectedItem(client);
+                    }
+                    callerMatchLabel.setText("Client identifié");
+                }, () -> callerMatchLabel.setText("Aucun client avec ce numéro")),
+                e -> log.error("Error looking up caller {}", number, e));
+    }
 
-            clientCombo.removeAllItems();
-            Client newSelectedClient = null;
+    private boolean selectClient(Integer clientId) {
+        for (int i = 0; i < clientCombo.getItemCount(); i++) {
+            if (clientCombo.getItemAt(i).getClientId().equals(clientId)) {
+                clientCombo.setSelectedIndex(i);
+                return true;
+            }
+        }
+        return false;
+    }
 
-            for (Client client : updatedClients) {
-                clientCombo.addItem(client);
+    /**
+     * Reloads the given clients, e.g. after their balance changed, along with the changed clients
+     * still waiting to be applied, and replaces them in the combo.
+     */
+    private void refreshClients(Collection<Integer> clientIds) {
+        pendingClientIds.addAll(clientIds);
+        List<Integer> ids = List.copyOf(pendingClientIds);
+        clientsLoader.load(() -> clientController.getClientsByIds(ids), clients -> {
+            pendingClientIds.removeAll(ids);
+            clients.forEach(this::replaceClient);
+        }, e -> log.error("Error refreshing clients {}", ids, e));
+    }
 
-                if (client.getClientId().equals(selectedClientId)) {
-                    newSelectedClient = client;
-                }
-            }
+    private void replaceClient(Client client) {
+        DefaultComboBoxModel<Client> model = (DefaultComboBoxModel<Client>) clientCombo.getModel();
+        int index = model.getIndexOf(client);
+        if (index < 0) {
+            model.addElement(client);
+            return;
+        }
 
-            if (newSelectedClient != null) {
-                selectedClient = newSelectedClient;
-                clientCombo.setSelectedItem(newSelectedClient);
-            } else if (clientCombo.getItemCount() > 0) {
-                selectedClient = clientCombo.getItemAt(0);
-                clientCombo.setSelectedIndex(0);
-            } else {
-                selectedClient = null;
-            }
+        boolean selected = index == clientCombo.getSelectedIndex();
+        model.removeElementAt(index);
+        model.insertElementAt(client, index);
+        if (selected) {
+            clientCombo.setSelectedIndex(index);
+        }
+        log.debug("Client #{} refreshed: balance={}€, loyalty={} points",
+                client.getClientId(), client.getAmount(), client.getLoyaltyCounter());
+    }
 
-            log.info("All client data refreshed - {} clients loaded", updatedClients.size());
-            if (selectedClient != null) {
-                log.info("Selected client updated: balance={}€, loyalty={} points",
-                        selectedClient.getAmount(), selectedClient.getLoyaltyCounter());
+    private void removeClient(Integer clientId) {
+        pendingClientIds.remove(clientId);
+        for (int i = 0; i < clientCombo.getItemCount(); i++) {
+            if (clientCombo.getItemAt(i).getClientId().equals(clientId)) {
+                clientCombo.removeItemAt(i);
+                return;
             }
-
-        } catch (Exception e) {
-            log.error("Error refreshing all client data", e);
         }
     }
 
     // Utility methods
     private void showNoOrdersMessage(String message) {
-        ordersPanel.removeAll();
+        orderListModel.clear();
+        orderDetailsPanel.removeAll();
+        orderDetailsPanel.add(createPlaceholderLabel(message), BorderLayout.NORTH);
+        orderDetailsPanel.revalidate();
+        orderDetailsPanel.repaint();
+    }
+
+    private JPanel createPlaceholderLabel(String message) {
         JPanel centerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         centerPanel.setOpaque(false);
-        JLabel noOrdersLabel = new JLabel(message);
-        noOrdersLabel.setFont(new Font("Arial", Font.ITALIC, 16));
-        noOrdersLabel.setForeground(Color.GRAY);
-        centerPanel.add(noOrdersLabel);
-        ordersPanel.add(centerPanel);
-        ordersPanel.revalidate();
-        ordersPanel.repaint();
+        JLabel label = new JLabel(message);
+        label.setFont(new Font("Arial", Font.ITALIC, 16));
+        label.setForeground(Color.GRAY);
+        centerPanel.add(label);
+        return centerPanel;
     }
 
     private void showErrorPanel(String errorMessage) {
@@ -1022,6 +1253,19 @@ public class DeliveryPanel extends JPanel {
         return panel;
     }
 
+    private JPanel createLabeledField(String labelText, JTextField field) {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BorderLayout(5, 5));
+        panel.setOpaque(false);
+        JLabel label = new JLabel(labelText);
+        label.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        field.setPreferredSize(new Dimension(200, 30));
+        panel.add(label, BorderLayout.NORTH);
+        panel.add(field, BorderLayout.CENTER);
+        panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 60));
+        return panel;
+    }
+
     private JPanel createLabeledSpinner(String labelText, JSpinner spinner) {
         JPanel panel = new JPanel();
         panel.setLayout(new BorderLayout(5, 5));
@@ -1035,11 +1279,21 @@ public class DeliveryPanel extends JPanel {
         return panel;
     }
 
+    private record FormData(List<DeliveryDriver> drivers, List<Vehicle> vehicles, List<Client> clients,
+                            Availability availability) {
+    }
+
+    /**
+     * Outcome of identifying a caller: the client designated, if any, or the number of clients matching.
+     */
+    private record CallerMatch(Integer clientId, int matches) {
+    }
+
     private static class DriverComboRenderer extends DefaultListCellRenderer {
-        private final List<DeliveryDriver> availableDrivers;
+        private final Availability availability;
 
-        public DriverComboRenderer(List<DeliveryDriver> availableDrivers) {
-            this.availableDrivers = availableDrivers;
+        public DriverComboRenderer(Availability availability) {
+            this.availability = availability;
         }
 
         @Override
@@ -1048,8 +1302,7 @@ public class DeliveryPanel extends JPanel {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
             if (value instanceof DeliveryDriver driver) {
-                boolean isAvailable = availableDrivers.stream()
-                        .anyMatch(d -> d.getDriverId().equals(driver.getDriverId()));
+                boolean isAvailable = availability.isDriverAvailable(driver.getDriverId());
 
                 String driverName = driver.getFirstName() + " " + driver.getLastName();
 
@@ -1068,10 +1321,10 @@ public class DeliveryPanel extends JPanel {
     }
 
     private static class VehicleComboRenderer extends DefaultListCellRenderer {
-        private final List<Vehicle> availableVehicles;
+        private final Availability availability;
 
-        public VehicleComboRenderer(List<Vehicle> availableVehicles) {
-            this.availableVehicles = availableVehicles;
+        public VehicleComboRenderer(Availability availability) {
+            this.availability = availability;
         }
 
         @Override
@@ -1080,8 +1333,7 @@ public class DeliveryPanel extends JPanel {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
             if (value instanceof Vehicle vehicle) {
-                boolean isAvailable = availableVehicles.stream()
-                        .anyMatch(v -> v.getVehicleId().equals(vehicle.getVehicleId()));
+                boolean isAvailable = availability.isVehicleAvailable(vehicle.getVehicleId());
 
                 String vehicleInfo = vehicle.getVehicleType().getDisplayName() + " (" + vehicle.getLicensePlate() + ")";
 
@@ -1098,4 +1350,64 @@ public class DeliveryPanel extends JPanel {
             return this;
         }
     }
+
+    /**
+     * Paints an order as a summary row; the full card is shown in the details pane.
+     */
+    private class OrderCellRenderer extends JPanel implements ListCellRenderer<OrderView> {
+        private final JLabel titleLabel = new JLabel();
+        private final JLabel statusLabel = new JLabel();
+        private final JLabel summaryLabel = new JLabel();
+        private final JLabel lateLabel = new JLabel("En retard");
+
+        OrderCellRenderer() {
+            super(new BorderLayout(10, 2));
+            setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(220, 220, 220)),
+                    BorderFactory.createEmptyBorder(8, 10, 8, 10)
+            ));
+
+            titleLabel.setFont(new Font("Arial", Font.BOLD, 14));
+            statusLabel.setFont(new Font("Arial", Font.BOLD, 13));
+            summaryLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+            lateLabel.setFont(new Font("Arial", Font.BOLD, 12));
+            lateLabel.setForeground(Color.RED);
+
+            JPanel header = new JPanel(new BorderLayout());
+            header.setOpaque(false);
+            header.add(titleLabel, BorderLayout.WEST);
+            header.add(statusLabel, BorderLayout.EAST);
+
+            JPanel footer = new JPanel(new BorderLayout());
+            footer.setOpaque(false);
+            footer.add(summaryLabel, BorderLayout.CENTER);
+            footer.add(lateLabel, BorderLayout.EAST);
+
+            add(header, BorderLayout.NORTH);
+            add(footer, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends OrderView> list, OrderView order, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            setBackground(isSelected ? list.getSelectionBackground() : Color.WHITE);
+            Color textColor = isSelected ? list.getSelectionForeground() : Color.BLACK;
+
+            titleLabel.setText("Commande #" + order.orderId() + "  -  " + order.orderDate().format(ORDER_DATE_FORMAT));
+            titleLabel.setForeground(textColor);
+
+            statusLabel.setText(order.orderStatus().getDisplayName());
+            statusLabel.setForeground(isSelected ? textColor
+                    : order.orderStatus() == OrderStatus.PENDING ? Color.ORANGE : Color.BLUE);
+
+            int pizzaCount = order.items().stream().mapToInt(OrderLineView::quantity).sum();
+            summaryLabel.setText(String.format("%s  -  %d pizza%s  -  %.2f €",
+                    order.clientName(), pizzaCount, pizzaCount > 1 ? "s" : "",
+                    deliveryController.calculateOrderTotal(order).toBigDecimal()));
+            summaryLabel.setForeground(textColor);
+
+            lateLabel.setVisible(deliveryController.isLateDelivery(order));
+            return this;
+        }
+    }
 }
\ No newline at end of file
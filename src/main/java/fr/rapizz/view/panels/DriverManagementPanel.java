@@ -1,14 +1,16 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.DriverController;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.DriverChanged;
 import fr.rapizz.model.DeliveryDriver;
+import fr.rapizz.util.LazyTableModel;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import fr.rapizz.view.theme.AppTheme;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for managing delivery drivers
@@ -25,10 +27,12 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
     /**
      * Creates a new driver management panel
      * @param controller The driver controller
+     * @param eventBus   Bus notifying the changes to reload the table
      */
-    public DriverManagementPanel(DriverController controller) {
+    public DriverManagementPanel(DriverController controller, DomainEventBus eventBus) {
         super(); // Initialize the abstract panel
         this.controller = controller;
+        eventBus.subscribeWhileShowing(this, events -> reloadEntities(), DriverChanged.class);
         loadEntities();
     }
 
@@ -57,14 +61,9 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
     }
 
     @Override
-    protected DefaultTableModel createTableModel() {
+    protected LazyTableModel<DeliveryDriver> createTableModel() {
         String[] columns = {"ID", "Prénom", "Nom", "Téléphone"};
-        return new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        return new LazyTableModel<>(columns, this::createTableRow);
     }
 
     @Override
@@ -83,7 +82,6 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
 
         if (result.isSuccess()) {
             clearForm();
-            loadEntities();
             showSuccessMessage("Livreur ajouté avec succès!");
         } else {
             showValidationError(result.getErrors());
@@ -102,7 +100,6 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
 
             if (result.isSuccess()) {
                 clearForm();
-                loadEntities();
                 showSuccessMessage("Livreur mis à jour avec succès!");
             } else {
                 showValidationError(result.getErrors());
@@ -118,7 +115,6 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
 
                 if (result.isSuccess()) {
                     clearForm();
-                    loadEntities();
                     showSuccessMessage("Livreur supprimé avec succès!");
                 } else {
                     showErrorMessage(String.join("\n", result.getErrors()));
@@ -130,17 +126,12 @@ public class DriverManagementPanel extends AbstractManagementPanel<DeliveryDrive
     @Override
     protected void filterEntities() {
         String searchText = searchField.getText().toLowerCase();
-        List<DeliveryDriver> filteredDrivers = controller.searchDrivers(searchText);
-
-        tableModel.setRowCount(0);
-        filteredDrivers.forEach(driver -> tableModel.addRow(createTableRow(driver)));
+        showRows(PageSource.ofList(() -> controller.searchDrivers(searchText)));
     }
 
     @Override
     protected void loadEntities() {
-        tableModel.setRowCount(0);
-        List<DeliveryDriver> drivers = controller.getAllDrivers();
-        drivers.forEach(driver -> tableModel.addRow(createTableRow(driver)));
+        showRows(controller.getDriverPages());
     }
 
     /**
@@ -1,30 +1,41 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.MenuController;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.PizzaChanged;
 import fr.rapizz.model.Pizza;
 import fr.rapizz.service.PizzaService;
+import fr.rapizz.util.AsyncLoader;
 import fr.rapizz.view.theme.AppTheme;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
+@Profile("!headless")
 public class MenuPanel extends JPanel {
     private final MenuController menuController;
-    private List<Pizza> pizzas;
+    private final AsyncLoader loader = new AsyncLoader(this);
+
+    // Cards of the loaded menu, reused across resizes
+    private final List<PizzaCardPanel> cards = new ArrayList<>();
+    private int displayedColumns;
 
     private JPanel cardsContainer;
     private JScrollPane scrollPane;
     private JLabel titleLabel;
 
-    public MenuPanel(MenuController menuController) {
+    public MenuPanel(MenuController menuController, DomainEventBus eventBus) {
         this.menuController = menuController;
 
         setupPanel();
         createComponents();
         layoutComponents();
+        eventBus.subscribeWhileShowing(this, events -> loadPizzas(), PizzaChanged.class);
         loadPizzas();
     }
 
@@ -55,45 +66,62 @@ public class MenuPanel extends JPanel {
         add(scrollPane, BorderLayout.CENTER);
     }
 
+    /**
+     * Fetches the menu in the background, then rebuilds the pizza cards.
+     * This is the only place the menu is read from the database.
+     */
     public void loadPizzas() {
-        // Clear existing cards
-        cardsContainer.removeAll();
+        loader.load(menuController::getAllPizzas, this::buildCards);
+    }
 
-        // Load pizzas from controller
-        pizzas = menuController.getAllPizzas();
+    private void buildCards(List<Pizza> pizzas) {
+        cards.clear();
+        cardsContainer.removeAll();
+        displayedColumns = 0;
 
         if (pizzas == null || pizzas.isEmpty()) {
             JLabel emptyLabel = new JLabel("Aucune pizza disponible", SwingConstants.CENTER);
             emptyLabel.setFont(new Font("Arial", Font.BOLD, 16));
-            add(emptyLabel, BorderLayout.CENTER);
+            cardsContainer.add(emptyLabel);
+            cardsContainer.revalidate();
+            cardsContainer.repaint();
             return;
         }
 
+        for (Pizza pizza : pizzas) {
+            cards.add(new PizzaCardPanel(pizza, menuController));
+        }
+        reflowCards();
+    }
+
+    /**
+     * Places the existing cards on the grid for the current width.
+     * Does nothing while the number of columns is unchanged.
+     */
+    private void reflowCards() {
+        int columns = determineColumnCount();
+        if (columns == displayedColumns) {
+            return;
+        }
+        displayedColumns = columns;
+        cardsContainer.removeAll();
+
         // Create constraints for GridBagLayout
         GridBagConstraints gbc = new GridBagConstraints();
-        gbc.gridx = 0;
-        gbc.gridy = 0;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(10, 10, 10, 10); // Padding between cards
         gbc.weightx = 1.0;
 
-        int count = 0;
-        int columns = determineColumnCount();
-
-        for (Pizza pizza : pizzas) {
-            PizzaCardPanel card = new PizzaCardPanel(pizza, menuController);
-
+        for (int i = 0; i < cards.size(); i++) {
             // Set grid position
-            gbc.gridx = count % columns;
-            gbc.gridy = count / columns;
+            gbc.gridx = i % columns;
+            gbc.gridy = i / columns;
 
-            // Add to container
-            cardsContainer.add(card, gbc);
-            count++;
+            cardsContainer.add(cards.get(i), gbc);
         }
 
-        revalidate();
-        repaint();
+        cardsContainer.revalidate();
+        cardsContainer.repaint();
     }
 
     // Determine how many columns we should have based on the window width
@@ -107,13 +135,12 @@ public class MenuPanel extends JPanel {
         else return 4;
     }
 
-    // Update layout when panel is resized
+    // Reflow the cards when the panel is resized, without reloading them
     @Override
     public void setBounds(int x, int y, int width, int height) {
         super.setBounds(x, y, width, height);
-        // If we have pizzas loaded, refresh the layout
-        if (pizzas != null && !pizzas.isEmpty()) {
-            loadPizzas();
+        if (!cards.isEmpty()) {
+            reflowCards();
         }
     }
 }
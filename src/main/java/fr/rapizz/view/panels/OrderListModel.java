@@ -0,0 +1,120 @@
+package fr.rapizz.view.panels;
+
+import fr.rapizz.dto.OrderView;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List model of the orders displayed by the delivery panel, newest first, keyed by order id.
+ *
+ * <p>Besides whole pages, single orders can be inserted, replaced or removed by id; only the
+ * affected row is reported to the list, so a status change repaints one row.</p>
+ */
+public class OrderListModel extends AbstractListModel<OrderView> {
+    /** Display order of the orders, the order of the pages they are loaded from. */
+    private static final Comparator<OrderView> NEWEST_FIRST = Comparator
+            .comparing(OrderView::orderDate)
+            .thenComparing(OrderView::orderId)
+            .reversed();
+
+    private final List<OrderView> orders = new ArrayList<>();
+    private final Map<Integer, Integer> indexById = new HashMap<>();
+
+    @Override
+    public int getSize() {
+        return orders.size();
+    }
+
+    @Override
+    public OrderView getElementAt(int index) {
+        return orders.get(index);
+    }
+
+    public boolean isEmpty() {
+        return orders.isEmpty();
+    }
+
+    /**
+     * @return The index of the order, or {@code -1} if it is not displayed
+     */
+    public int indexOf(Integer orderId) {
+        return indexById.getOrDefault(orderId, -1);
+    }
+
+    public void clear() {
+        int size = orders.size();
+        if (size > 0) {
+            orders.clear();
+            indexById.clear();
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+    }
+
+    /**
+     * Appends a page of older orders.
+     */
+    public void addAll(Collection<OrderView> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        int first = orders.size();
+        for (OrderView order : page) {
+            indexById.put(order.orderId(), orders.size());
+            orders.add(order);
+        }
+        fireIntervalAdded(this, first, orders.size() - 1);
+    }
+
+    /**
+     * Replaces the displayed order with the same id, or inserts the order at its position.
+     *
+     * @param order          New state of the order
+     * @param allowAppending Whether the order may be inserted after the last displayed order;
+     *                       {@code false} while older orders remain to be loaded, since the order
+     *                       will come with them
+     */
+    public void upsert(OrderView order, boolean allowAppending) {
+        int index = indexOf(order.orderId());
+        if (index >= 0) {
+            orders.set(index, order);
+            fireContentsChanged(this, index, index);
+            return;
+        }
+
+        int position = Collections.binarySearch(orders, order, NEWEST_FIRST);
+        int insertionIndex = position >= 0 ? position : -position - 1;
+        if (insertionIndex == orders.size() && !allowAppending) {
+            return;
+        }
+        orders.add(insertionIndex, order);
+        reindexFrom(insertionIndex);
+        fireIntervalAdded(this, insertionIndex, insertionIndex);
+    }
+
+    /**
+     * Removes the order with the given id, if displayed.
+     */
+    public void remove(Integer orderId) {
+        int index = indexOf(orderId);
+        if (index < 0) {
+            return;
+        }
+        orders.remove(index);
+        indexById.remove(orderId);
+        reindexFrom(index);
+        fireIntervalRemoved(this, index, index);
+    }
+
+    private void reindexFrom(int index) {
+        for (int i = index; i < orders.size(); i++) {
+            indexById.put(orders.get(i).orderId(), i);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.StatisticsController;
+import fr.rapizz.dto.DashboardSnapshot;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.OrderChanged;
+import fr.rapizz.event.OrderPlaced;
+import fr.rapizz.event.OrderStatusChanged;
 import fr.rapizz.model.OrderStatus;
 import fr.rapizz.service.StatisticsService;
+import fr.rapizz.util.AsyncLoader;
+import fr.rapizz.util.Result;
 import fr.rapizz.view.theme.AppTheme;
 import lombok.extern.slf4j.Slf4j;
 import org.jfree.chart.ChartFactory;
@@ -17,7 +24,6 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Objects;
@@ -27,11 +33,15 @@ import java.util.Objects;
  */
 @Slf4j
 public class StatisticsPanel extends JPanel {
+    private static final int POPULAR_PIZZAS_LIMIT = 5;
+
     private final StatisticsController statisticsController;
+    private final AsyncLoader loader = new AsyncLoader(this);
     
     // Filter components
     private JComboBox<String> periodComboBox;
     private JButton refreshButton;
+    private JButton rebuildButton;
     
     // KPI components
     private JLabel totalRevenueLabel;
@@ -47,13 +57,16 @@ public class StatisticsPanel extends JPanel {
     /**
      * Creates a new statistics panel
      * @param statisticsController The statistics controller
+     * @param eventBus             Bus notifying the orders to reload the dashboard
      */
-    public StatisticsPanel(StatisticsController statisticsController) {
+    public StatisticsPanel(StatisticsController statisticsController, DomainEventBus eventBus) {
         this.statisticsController = statisticsController;
         
         setupPanel();
         createComponents();
         layoutComponents();
+        eventBus.subscribeWhileShowing(this, events -> loadStatistics(),
+                OrderPlaced.class, OrderStatusChanged.class, OrderChanged.class);
         loadStatistics();
     }
     
@@ -87,6 +100,11 @@ public class StatisticsPanel extends JPanel {
         refreshButton = new JButton("Actualiser");
         AppTheme.styleButton(refreshButton, "Actualiser", AppTheme.INFO_COLOR);
         refreshButton.addActionListener(e -> loadStatistics());
+
+        rebuildButton = new JButton("Recalculer");
+        AppTheme.styleButton(rebuildButton, "Recalculer", AppTheme.NEUTRAL_COLOR);
+        rebuildButton.setToolTipText("Recalcule les statistiques à partir de l'historique des commandes");
+        rebuildButton.addActionListener(e -> rebuildStatistics());
     }
     
     /**
@@ -184,6 +202,7 @@ public class StatisticsPanel extends JPanel {
         filterPanel.add(periodLabel);
         filterPanel.add(periodComboBox);
         filterPanel.add(refreshButton);
+        filterPanel.add(rebuildButton);
         
         titlePanel.add(titleLabel, BorderLayout.NORTH);
         titlePanel.add(filterPanel, BorderLayout.CENTER);
@@ -414,44 +433,54 @@ public class StatisticsPanel extends JPanel {
     }
     
     /**
-     * Loads entities from the controller into the table.
+     * Loads the dashboard of the selected period in the background, then applies it.
      */
     protected void loadStatistics() {
-        try {
-            String selectedPeriod = Objects.requireNonNullElse(
-                    (String) periodComboBox.getSelectedItem(), "Tout");
-            LocalDate startDate = calculateStartDateFromPeriod(selectedPeriod);
-            
-            // Load KPI data
-            BigDecimal totalRevenue = statisticsController.calculateTotalRevenue(startDate);
-            int totalOrders = statisticsController.countOrders(startDate);
-            BigDecimal avgOrderValue = totalOrders > 0 ?
-                    totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP) :
-                    BigDecimal.ZERO;
-            String topDriver = statisticsController.findTopDriver(startDate);
-            
-            // Update KPI labels
-            totalRevenueLabel.setText(totalRevenue + " €");
-            totalOrdersLabel.setText(String.valueOf(totalOrders));
-            avgOrderValueLabel.setText(avgOrderValue + " €");
-            topDriverLabel.setText(topDriver != null ? topDriver : "Aucun");
-            
-            // Update charts
-            updatePizzaPopularityChart(startDate);
-            updateOrderStatusChart(startDate);
-            updateRevenueTimeChart(startDate);
-            
-        } catch (Exception e) {
-            showErrorMessage("Erreur lors du chargement des statistiques: " + e.getMessage());
-        }
+        String selectedPeriod = Objects.requireNonNullElse(
+                (String) periodComboBox.getSelectedItem(), "Tout");
+        LocalDate startDate = calculateStartDateFromPeriod(selectedPeriod);
+
+        loader.load(() -> statisticsController.loadDashboard(startDate, POPULAR_PIZZAS_LIMIT), result -> {
+            if (result.isSuccess()) {
+                applySnapshot(result.getData());
+            } else {
+                showErrorMessage(String.join("\n", result.getErrors()));
+            }
+        }, e -> showErrorMessage("Erreur lors du chargement des statistiques: " + e.getMessage()));
+    }
+
+    /**
+     * Updates the KPI labels and the charts from a loaded snapshot.
+     */
+    private void applySnapshot(DashboardSnapshot snapshot) {
+        totalRevenueLabel.setText(snapshot.totalRevenue() + " €");
+        totalOrdersLabel.setText(String.valueOf(snapshot.totalOrders()));
+        avgOrderValueLabel.setText(snapshot.averageOrderValue() + " €");
+        topDriverLabel.setText(snapshot.topDriver() != null ? snapshot.topDriver() : "Aucun");
+
+        updatePizzaPopularityChart(snapshot.popularPizzas());
+        updateOrderStatusChart(snapshot.statusCounts());
+        updateRevenueTimeChart(snapshot.revenueByDay());
     }
     
+    /**
+     * Rebuilds the statistics rollups from the order history, then reloads the dashboard.
+     */
+    private void rebuildStatistics() {
+        loader.load(statisticsController::rebuildStatistics, result -> {
+            if (result.isSuccess()) {
+                loadStatistics();
+            } else {
+                showErrorMessage(String.join("\n", result.getErrors()));
+            }
+        });
+    }
+
     /**
      * Updates pizza popularity chart.
      */
-    private void updatePizzaPopularityChart(LocalDate startDate) {
+    private void updatePizzaPopularityChart(Map<String, Integer> pizzaCounts) {
         DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
-        Map<String, Integer> pizzaCounts = statisticsController.getMostPopularPizzas(startDate, 5);
         
         for (Map.Entry<String, Integer> entry : pizzaCounts.entrySet()) {
             dataset.setValue(entry.getKey(), entry.getValue());
@@ -470,9 +499,8 @@ public class StatisticsPanel extends JPanel {
     /**
      * Updates order status chart.
      */
-    private void updateOrderStatusChart(LocalDate startDate) {
+    private void updateOrderStatusChart(Map<OrderStatus, Integer> statusCounts) {
         DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
-        Map<OrderStatus, Integer> statusCounts = statisticsController.getOrderStatusCounts(startDate);
         
         for (Map.Entry<OrderStatus, Integer> entry : statusCounts.entrySet()) {
             dataset.setValue(entry.getKey().getDisplayName(), entry.getValue());
@@ -491,9 +519,8 @@ public class StatisticsPanel extends JPanel {
     /**
      * Updates revenue time chart.
      */
-    private void updateRevenueTimeChart(LocalDate startDate) {
+    private void updateRevenueTimeChart(Map<String, BigDecimal> revenueByPeriod) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<String, BigDecimal> revenueByPeriod = statisticsController.getRevenueByTimePeriod(startDate);
         
         for (Map.Entry<String, BigDecimal> entry : revenueByPeriod.entrySet()) {
             dataset.addValue(entry.getValue(), "Chiffre d'affaires", entry.getKey());
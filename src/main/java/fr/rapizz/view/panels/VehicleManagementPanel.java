@@ -1,15 +1,17 @@
 package fr.rapizz.view.panels;
 
 import fr.rapizz.controller.VehicleController;
+import fr.rapizz.event.DomainEventBus;
+import fr.rapizz.event.VehicleChanged;
 import fr.rapizz.model.Vehicle;
 import fr.rapizz.model.VehicleType;
+import fr.rapizz.util.LazyTableModel;
+import fr.rapizz.util.PageSource;
 import fr.rapizz.util.Result;
 import fr.rapizz.view.theme.AppTheme;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for managing delivery vehicles
@@ -25,10 +27,12 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
     /**
      * Creates a new driver management panel
      * @param controller The vehicle controller
+     * @param eventBus   Bus notifying the changes to reload the table
      */
-    public VehicleManagementPanel(VehicleController controller) {
+    public VehicleManagementPanel(VehicleController controller, DomainEventBus eventBus) {
         super(); // Initialize the abstract panel
         this.controller = controller;
+        eventBus.subscribeWhileShowing(this, events -> reloadEntities(), VehicleChanged.class);
         loadEntities();
     }
 
@@ -76,14 +80,9 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
     }
 
     @Override
-    protected DefaultTableModel createTableModel() {
+    protected LazyTableModel<Vehicle> createTableModel() {
         String[] columns = {"ID", "Type", "Immatriculation"};
-        return new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        return new LazyTableModel<>(columns, this::createTableRow);
     }
 
     @Override
@@ -101,7 +100,6 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
 
         if (result.isSuccess()) {
             clearForm();
-            loadEntities();
             showSuccessMessage("Véhicule ajouté avec succès!");
         } else {
             showValidationError(result.getErrors());
@@ -119,7 +117,6 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
 
             if (result.isSuccess()) {
                 clearForm();
-                loadEntities();
                 showSuccessMessage("Véhicule mis à jour avec succès!");
             } else {
                 showValidationError(result.getErrors());
@@ -135,7 +132,6 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
 
                 if (result.isSuccess()) {
                     clearForm();
-                    loadEntities();
                     showSuccessMessage("Véhicule supprimé avec succès!");
                 } else {
                     showErrorMessage(String.join("\n", result.getErrors()));
@@ -147,17 +143,12 @@ public class VehicleManagementPanel extends AbstractManagementPanel<Vehicle>{
     @Override
     protected void filterEntities() {
         String searchText = searchField.getText().toLowerCase();
-        List<Vehicle> filteredVehicles = controller.searchVehicles(searchText);
-
-        tableModel.setRowCount(0);
-        filteredVehicles.forEach(vehicle -> tableModel.addRow(createTableRow(vehicle)));
+        showRows(PageSource.ofList(() -> controller.searchVehicles(searchText)));
     }
 
     @Override
     protected void loadEntities() {
-        tableModel.setRowCount(0);
-        List<Vehicle> vehicles = controller.getAllVehicles();
-        vehicles.forEach(vehicle -> tableModel.addRow(createTableRow(vehicle)));
+        showRows(controller.getVehiclePages());
     }
 
     /**
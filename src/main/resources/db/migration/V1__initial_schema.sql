@@ -64,4 +64,4 @@ CREATE TABLE order_pizzas (
   free_reason ENUM('NOT_FREE', 'LOYALTY', 'LATE_DELIVERY') NOT NULL DEFAULT 'NOT_FREE',
   FOREIGN KEY (order_id) REFERENCES orders(order_id),
   FOREIGN KEY (pizza_id) REFERENCES pizzas(pizza_id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,17 @@
+-- Identifiers of orders and order lines are generated by Hibernate in blocks of 50
+-- (pooled-lo optimizer, see Order and OrderPizza), which keeps JDBC batching enabled.
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_pizzas_seq START WITH 1 INCREMENT BY 50;
+
+-- Start past the rows of an existing database
+SET @next_id = (SELECT COALESCE(MAX(order_id), 0) + 1 FROM orders);
+SET @stmt = CONCAT('ALTER SEQUENCE orders_seq RESTART WITH ', @next_id);
+PREPARE restart_seq FROM @stmt;
+EXECUTE restart_seq;
+DEALLOCATE PREPARE restart_seq;
+
+SET @next_id = (SELECT COALESCE(MAX(order_item_id), 0) + 1 FROM order_pizzas);
+SET @stmt = CONCAT('ALTER SEQUENCE order_pizzas_seq RESTART WITH ', @next_id);
+PREPARE restart_seq FROM @stmt;
+EXECUTE restart_seq;
+DEALLOCATE PREPARE restart_seq;
@@ -0,0 +1,11 @@
+-- Statistics queries (countOrders, calculateTotalRevenue, getOrderStatusCounts,
+-- findTopDrivers, getRevenueByDay, getMostPopularPizzas) range over order_date and
+-- read order_status and driver_id: all answered from this index without touching rows.
+CREATE INDEX idx_orders_date_status_driver ON orders (order_date, order_status, driver_id);
+
+-- Keyset paging of the delivery panel and lookups by status. InnoDB appends the
+-- primary key, so the index is also ordered by (order_date, order_id) within a status.
+CREATE INDEX idx_orders_status_date ON orders (order_status, order_date);
+
+-- Lines of a set of orders: revenue sums and pizza popularity read only this index.
+CREATE INDEX idx_order_pizzas_order_pizza ON order_pizzas (order_id, pizza_id, quantity, pizza_price);
@@ -0,0 +1,50 @@
+-- Daily rollups read by the statistics dashboard, maintained incrementally by
+-- StatisticsRollupService. Each can be rebuilt from orders and order_pizzas.
+CREATE TABLE daily_revenue (
+  stat_date DATE PRIMARY KEY NOT NULL,
+  revenue DECIMAL(12, 2) NOT NULL DEFAULT 0
+);
+
+CREATE TABLE daily_status_counts (
+  stat_date DATE NOT NULL,
+  order_status ENUM('PENDING', 'IN_PROGRESS', 'DELIVERED', 'CANCELED') NOT NULL,
+  order_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (stat_date, order_status)
+);
+
+CREATE TABLE daily_pizza_counts (
+  stat_date DATE NOT NULL,
+  pizza_id INT NOT NULL,
+  line_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (stat_date, pizza_id),
+  FOREIGN KEY (pizza_id) REFERENCES pizzas(pizza_id) ON DELETE CASCADE
+);
+
+CREATE TABLE daily_driver_deliveries (
+  stat_date DATE NOT NULL,
+  driver_id INT NOT NULL,
+  delivery_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (stat_date, driver_id),
+  FOREIGN KEY (driver_id) REFERENCES delivery_drivers(driver_id) ON DELETE CASCADE
+);
+
+-- Backfill from the existing history
+INSERT INTO daily_revenue (stat_date, revenue)
+SELECT DATE(o.order_date), SUM(oi.pizza_price * oi.quantity)
+FROM orders o JOIN order_pizzas oi ON oi.order_id = o.order_id
+WHERE o.order_status <> 'CANCELED'
+GROUP BY DATE(o.order_date);
+
+INSERT INTO daily_status_counts (stat_date, order_status, order_count)
+SELECT DATE(order_date), order_status, COUNT(*) FROM orders
+GROUP BY DATE(order_date), order_status;
+
+INSERT INTO daily_pizza_counts (stat_date, pizza_id, line_count)
+SELECT DATE(o.order_date), oi.pizza_id, COUNT(*)
+FROM order_pizzas oi JOIN orders o ON o.order_id = oi.order_id
+GROUP BY DATE(o.order_date), oi.pizza_id;
+
+INSERT INTO daily_driver_deliveries (stat_date, driver_id, delivery_count)
+SELECT DATE(order_date), driver_id, COUNT(*) FROM orders
+WHERE order_status = 'DELIVERED' AND driver_id IS NOT NULL
+GROUP BY DATE(order_date), driver_id;
@@ -0,0 +1,8 @@
+-- Phone numbers reduced to their E.164 digits, for caller lookups whatever the input format.
+-- Stored numbers start with their country code (see Client#phoneNumber); the trunk prefix
+-- kept after +33 ("+330711223344") is dropped, as in PhoneNumbers#normalize.
+ALTER TABLE clients
+  ADD COLUMN phone_digits VARCHAR(16)
+    AS (REGEXP_REPLACE(REGEXP_REPLACE(phone_number, '[^0-9]', ''), '^330', '33')) STORED;
+
+CREATE INDEX idx_clients_phone_digits ON clients (phone_digits);
@@ -0,0 +1,12 @@
+-- Last modification of each row, maintained by MariaDB on every INSERT and UPDATE, including
+-- the bulk statements that bypass Hibernate. Terminals sharing the database poll these columns
+-- to pick up each other's changes (see ChangePoller).
+ALTER TABLE orders
+  ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_orders_updated_at ON orders (updated_at);
+
+ALTER TABLE clients
+  ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_clients_updated_at ON clients (updated_at);
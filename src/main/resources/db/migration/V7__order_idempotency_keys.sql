@@ -0,0 +1,7 @@
+-- Key sent with an order placement by its submitter, so that a retried submission returns the
+-- order already placed instead of charging the client twice (see IdempotencyStore).
+-- NULL for the orders placed without a key; the unique index allows any number of them.
+ALTER TABLE orders
+  ADD COLUMN idempotency_key VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uq_orders_idempotency_key ON orders (idempotency_key);
@@ -200,4 +200,43 @@ INSERT INTO order_pizzas (order_id, pizza_id, quantity, pizza_size, pizza_price,
 (14, 11, 1, 'HUMAINE', 13.50, 'NOT_FREE'),
 (14, 8, 1, 'NAINE', 9.20, 'NOT_FREE'),
 -- Order 15: Margherita (Medium) - Free for loyalty
-(15, 1, 1, 'HUMAINE', 8.50, 'LOYALTY');
\ No newline at end of file
+(15, 1, 1, 'HUMAINE', 8.50, 'LOYALTY');
+
+-- Move the id sequences past the rows inserted above
+SET @next_id = (SELECT COALESCE(MAX(order_id), 0) + 1 FROM orders);
+SET @stmt = CONCAT('ALTER SEQUENCE orders_seq RESTART WITH ', @next_id);
+PREPARE restart_seq FROM @stmt;
+EXECUTE restart_seq;
+DEALLOCATE PREPARE restart_seq;
+
+SET @next_id = (SELECT COALESCE(MAX(order_item_id), 0) + 1 FROM order_pizzas);
+SET @stmt = CONCAT('ALTER SEQUENCE order_pizzas_seq RESTART WITH ', @next_id);
+PREPARE restart_seq FROM @stmt;
+EXECUTE restart_seq;
+DEALLOCATE PREPARE restart_seq;
+
+-- Fill the statistics rollups for the rows inserted above
+DELETE FROM daily_revenue;
+DELETE FROM daily_status_counts;
+DELETE FROM daily_pizza_counts;
+DELETE FROM daily_driver_deliveries;
+
+INSERT INTO daily_revenue (stat_date, revenue)
+SELECT DATE(o.order_date), SUM(oi.pizza_price * oi.quantity)
+FROM orders o JOIN order_pizzas oi ON oi.order_id = o.order_id
+WHERE o.order_status <> 'CANCELED'
+GROUP BY DATE(o.order_date);
+
+INSERT INTO daily_status_counts (stat_date, order_status, order_count)
+SELECT DATE(order_date), order_status, COUNT(*) FROM orders
+GROUP BY DATE(order_date), order_status;
+
+INSERT INTO daily_pizza_counts (stat_date, pizza_id, line_count)
+SELECT DATE(o.order_date), oi.pizza_id, COUNT(*)
+FROM order_pizzas oi JOIN orders o ON o.order_id = oi.order_id
+GROUP BY DATE(o.order_date), oi.pizza_id;
+
+INSERT INTO daily_driver_deliveries (stat_date, driver_id, delivery_count)
+SELECT DATE(order_date), driver_id, COUNT(*) FROM orders
+WHERE order_status = 'DELIVERED' AND driver_id IS NOT NULL
+GROUP BY DATE(order_date), driver_id;
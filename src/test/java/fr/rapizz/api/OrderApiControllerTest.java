@@ -0,0 +1,315 @@
+package fr.rapizz.api;
+
+import fr.rapizz.controller.ClientController;
+import fr.rapizz.controller.DeliveryController;
+import fr.rapizz.controller.DriverController;
+import fr.rapizz.controller.MenuController;
+import fr.rapizz.controller.VehicleController;
+import fr.rapizz.dto.OrderPage;
+import fr.rapizz.dto.OrderView;
+import fr.rapizz.model.Client;
+import fr.rapizz.model.DeliveryDriver;
+import fr.rapizz.model.Money;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+import fr.rapizz.model.Vehicle;
+import fr.rapizz.service.Cart;
+import fr.rapizz.util.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Order intake API over the controllers it delegates to, with the API key filter in front.
+ */
+@WebMvcTest(controllers = OrderApiController.class, properties = "rapizz.api.key=" + OrderApiControllerTest.API_KEY)
+@ActiveProfiles("headless")
+class OrderApiControllerTest {
+    static final String API_KEY = "test-key";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private DeliveryController deliveryController;
+    @MockitoBean
+    private ClientController clientController;
+    @MockitoBean
+    private DriverController driverController;
+    @MockitoBean
+    private VehicleController vehicleController;
+    @MockitoBean
+    private MenuController menuController;
+
+    @BeforeEach
+    void setUp() {
+        when(deliveryController.calculateOrderTotal(any())).thenReturn(Money.ofCents(2500));
+    }
+
+    @Test
+    void rejectsRequestsWithoutTheApiKey() throws Exception {
+        mvc.perform(get("/api/orders"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errors[0]").value("Clé d'API manquante ou invalide"));
+        mvc.perform(get("/api/orders").header(ApiKeyFilter.HEADER, "wrong-key"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(put("/api/orders/1/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PENDING\"}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(deliveryController, never()).updateOrderStatus(any(), any());
+    }
+
+    @Test
+    void listsTheActiveOrders() throws Exception {
+        when(deliveryController.getOrdersPage(anyCollection(), isNull(), eq(50)))
+                .thenReturn(new OrderPage<>(List.of(view(7, OrderStatus.PENDING)), null));
+
+        mvc.perform(authorized(get("/api/orders")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").value(7))
+                .andExpect(jsonPath("$[0].orderStatus").value("PENDING"))
+                .andExpect(jsonPath("$[0].total").value(25.00));
+    }
+
+    @Test
+    void getsAnOrder() throws Exception {
+        when(deliveryController.getOrderView(7)).thenReturn(Optional.of(view(7, OrderStatus.IN_PROGRESS)));
+
+        mvc.perform(authorized(get("/api/orders/7")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(7))
+                .andExpect(jsonPath("$.clientName").value("Jean Dupont"));
+    }
+
+    @Test
+    void answersNotFoundForAnUnknownOrder() throws Exception {
+        when(deliveryController.getOrderView(99)).thenReturn(Optional.empty());
+
+        mvc.perform(authorized(get("/api/orders/99")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void placesAnOrderChargedAtTheMenuPrices() throws Exception {
+        Pizza pizza = pizza(3);
+        Order placed = new Order();
+        placed.setOrderId(7);
+        when(clientController.getClientById(1)).thenReturn(Optional.of(client(1)));
+        when(menuController.getAllPizzas()).thenReturn(List.of(pizza));
+        when(menuController.calculatePriceCents(pizza, PizzaSize.OGRESSE)).thenReturn(1250L);
+        when(deliveryController.getAvailableDrivers()).thenReturn(List.of(driver(4)));
+        when(deliveryController.getAvailableVehicles()).thenReturn(List.of(vehicle(5)));
+        when(deliveryController.createDelivery(any(), any(), any(), any(), eq("BALANCE"), eq("key-1")))
+                .thenReturn(Result.success(placed));
+        when(deliveryController.getOrderView(7)).thenReturn(Optional.of(view(7, OrderStatus.PENDING)));
+
+        mvc.perform(authorized(post("/api/orders"))
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId": 1, "lines": [{"pizzaId": 3, "size": "OGRESSE", "quantity": 2}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/orders/7"))
+                .andExpect(jsonPath("$.orderId").value(7));
+
+        ArgumentCaptor<Cart> cart = ArgumentCaptor.forClass(Cart.class);
+        verify(deliveryController).createDelivery(eq(driver(4)), eq(vehicle(5)), eq(client(1)), cart.capture(),
+                eq("BALANCE"), eq("key-1"));
+        assertThat(cart.getValue().total()).isEqualTo(Money.ofCents(2500));
+    }
+
+    @Test
+    void rejectsAnOrderOfAnUnknownClient() throws Exception {
+        when(clientController.getClientById(42)).thenReturn(Optional.empty());
+
+        mvc.perform(authorized(post("/api/orders"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId": 42, "lines": [{"pizzaId": 3, "quantity": 1}]}
+                                """))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0]").value("Client introuvable"));
+    }
+
+    @Test
+    void rejectsAnOrderWithInvalidLines() throws Exception {
+        when(clientController.getClientById(1)).thenReturn(Optional.of(client(1)));
+        when(menuController.getAllPizzas()).thenReturn(List.of(pizza(3)));
+
+        mvc.perform(authorized(post("/api/orders"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId": 1, "lines": []}
+                                """))
+                .andExpect(status().isBadRequest());
+        mvc.perform(authorized(post("/api/orders"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId": 1, "lines": [{"pizzaId": 8, "quantity": 1}, {"pizzaId": 3, "quantity": 0}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(2));
+
+        verify(deliveryController, never()).createDelivery(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updatesTheStatusOfAnOrder() throws Exception {
+        when(deliveryController.getOrderView(7)).thenReturn(
+                Optional.of(view(7, OrderStatus.PENDING)), Optional.of(view(7, OrderStatus.IN_PROGRESS)));
+        when(deliveryController.updateOrderStatus(7, OrderStatus.IN_PROGRESS)).thenReturn(Result.success(new Order()));
+
+        mvc.perform(authorized(put("/api/orders/7/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderStatus").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void rejectsAStatusUpdateWithoutStatusOrOrder() throws Exception {
+        when(deliveryController.getOrderView(99)).thenReturn(Optional.empty());
+
+        mvc.perform(authorized(put("/api/orders/7/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(authorized(put("/api/orders/99/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"DELIVERED\"}"))
+                .andExpect(status().isNotFound());
+
+        verify(deliveryController, never()).updateOrderStatus(any(), any());
+    }
+
+    @Test
+    void rejectsAStatusChangeTheLifecycleDoesNotAllow() throws Exception {
+        when(deliveryController.getOrderView(7)).thenReturn(Optional.of(view(7, OrderStatus.DELIVERED)));
+
+        mvc.perform(authorized(put("/api/orders/7/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PENDING\"}"))
+                .andExpect(status().isConflict());
+        mvc.perform(authorized(put("/api/orders/7/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"DELIVERED\"}"))
+                .andExpect(status().isConflict());
+
+        verify(deliveryController, never()).updateOrderStatus(any(), any());
+    }
+
+    @Test
+    void updatesTheStatusOfSeveralOrders() throws Exception {
+        when(deliveryController.getOrderViews(List.of(7, 8))).thenReturn(
+                List.of(view(7, OrderStatus.IN_PROGRESS), view(8, OrderStatus.IN_PROGRESS)),
+                List.of(view(7, OrderStatus.DELIVERED), view(8, OrderStatus.DELIVERED)));
+        when(deliveryController.updateOrderStatuses(List.of(7, 8), OrderStatus.DELIVERED))
+                .thenReturn(Result.success(List.of()));
+
+        mvc.perform(authorized(put("/api/orders/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [7, 8], \"status\": \"DELIVERED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].orderStatus").value("DELIVERED"));
+    }
+
+    @Test
+    void rejectsABatchStatusUpdateWithoutOrdersOrWithUnknownOnes() throws Exception {
+        when(deliveryController.getOrderViews(List.of(7, 99))).thenReturn(List.of(view(7, OrderStatus.IN_PROGRESS)));
+
+        mvc.perform(authorized(put("/api/orders/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [], \"status\": \"DELIVERED\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(authorized(put("/api/orders/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [7]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(authorized(put("/api/orders/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [7, 99], \"status\": \"DELIVERED\"}"))
+                .andExpect(status().isNotFound());
+
+        verify(deliveryController, never()).updateOrderStatuses(any(), any());
+    }
+
+    @Test
+    void rejectsTheWholeBatchIfOneOrderCannotTakeTheStatus() throws Exception {
+        when(deliveryController.getOrderViews(List.of(7, 8))).thenReturn(
+                List.of(view(7, OrderStatus.IN_PROGRESS), view(8, OrderStatus.DELIVERED)));
+
+        mvc.perform(authorized(put("/api/orders/status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [7, 8], \"status\": \"DELIVERED\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.length()").value(1));
+
+        verify(deliveryController, never()).updateOrderStatuses(any(), any());
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(ApiKeyFilter.HEADER, API_KEY);
+    }
+
+    private static OrderView view(int orderId, OrderStatus status) {
+        return new OrderView(orderId, 1, LocalDateTime.of(2025, 3, 14, 12, 0),
+                status == OrderStatus.DELIVERED ? LocalDateTime.of(2025, 3, 14, 12, 20) : null, status,
+                "Jean Dupont", "1 rue de la Paix", "Marc Livreur", "AB-123-CD", List.of());
+    }
+
+    private static Client client(int clientId) {
+        Client client = new Client();
+        client.setClientId(clientId);
+        return client;
+    }
+
+    private static Pizza pizza(int pizzaId) {
+        Pizza pizza = new Pizza();
+        pizza.setPizzaId(pizzaId);
+        pizza.setPizzaName("Reine");
+        return pizza;
+    }
+
+    private static DeliveryDriver driver(int driverId) {
+        DeliveryDriver driver = new DeliveryDriver();
+        driver.setDriverId(driverId);
+        return driver;
+    }
+
+    private static Vehicle vehicle(int vehicleId) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        return vehicle;
+    }
+}
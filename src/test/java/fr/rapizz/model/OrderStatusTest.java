@@ -0,0 +1,35 @@
+package fr.rapizz.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the order lifecycle enforced on every status change.
+ */
+class OrderStatusTest {
+
+    @Test
+    void ordersOnlyMoveForward() {
+        assertThat(allowedFrom(OrderStatus.PENDING)).containsExactly(OrderStatus.IN_PROGRESS, OrderStatus.CANCELED);
+        assertThat(allowedFrom(OrderStatus.IN_PROGRESS)).containsExactly(OrderStatus.DELIVERED, OrderStatus.CANCELED);
+    }
+
+    @Test
+    void deliveredAndCanceledOrdersNeverChange() {
+        assertThat(allowedFrom(OrderStatus.DELIVERED)).isEmpty();
+        assertThat(allowedFrom(OrderStatus.CANCELED)).isEmpty();
+    }
+
+    private static EnumSet<OrderStatus> allowedFrom(OrderStatus status) {
+        EnumSet<OrderStatus> allowed = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus next : OrderStatus.values()) {
+            if (status.canChangeTo(next)) {
+                allowed.add(next);
+            }
+        }
+        return allowed;
+    }
+}
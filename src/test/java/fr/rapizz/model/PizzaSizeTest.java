@@ -0,0 +1,43 @@
+package fr.rapizz.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the prices charged for each size: rounded half up to the cent, as order lines store them.
+ */
+class PizzaSizeTest {
+
+    @Test
+    void mediumSizeCostsTheBasePrice() {
+        assertThat(PizzaSize.HUMAINE.priceFor(new BigDecimal("9.99"))).isEqualTo(new BigDecimal("9.99"));
+    }
+
+    @Test
+    void sizePricesAreRoundedHalfUpToTheCent() {
+        assertThat(PizzaSize.NAINE.priceFor(new BigDecimal("10.00"))).isEqualTo(new BigDecimal("6.70"));
+        assertThat(PizzaSize.NAINE.priceFor(new BigDecimal("9.99"))).isEqualTo(new BigDecimal("6.69"));
+        assertThat(PizzaSize.NAINE.priceFor(new BigDecimal("8.50"))).isEqualTo(new BigDecimal("5.70"));
+        assertThat(PizzaSize.OGRESSE.priceFor(new BigDecimal("10.00"))).isEqualTo(new BigDecimal("13.30"));
+        assertThat(PizzaSize.OGRESSE.priceFor(new BigDecimal("9.99"))).isEqualTo(new BigDecimal("13.29"));
+        assertThat(PizzaSize.OGRESSE.priceFor(new BigDecimal("12.50"))).isEqualTo(new BigDecimal("16.63"));
+    }
+
+    @Test
+    void sizePricesAreTheExactProductRoundedToTheCent() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long baseCents = random.nextInt(100_000);
+            BigDecimal basePrice = BigDecimal.valueOf(baseCents, 2);
+
+            assertThat(Money.centsOf(PizzaSize.NAINE.priceFor(basePrice))).as("small size of %s", basePrice)
+                    .isEqualTo((baseCents * 67 + 50) / 100);
+            assertThat(Money.centsOf(PizzaSize.OGRESSE.priceFor(basePrice))).as("large size of %s", basePrice)
+                    .isEqualTo((baseCents * 133 + 50) / 100);
+        }
+    }
+}
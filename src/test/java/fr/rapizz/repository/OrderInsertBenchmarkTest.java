@@ -0,0 +1,189 @@
+package fr.rapizz.repository;
+
+import fr.rapizz.model.Client;
+import fr.rapizz.model.DeliveryDriver;
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.OrderStatus;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+import fr.rapizz.model.Vehicle;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of orders before and after pooled sequence ids, on a throwaway MariaDB migrated
+ * by Flyway (the migrations use MariaDB sequences and types, which an embedded database lacks).
+ *
+ * <p>The former path replays the statements of {@code IDENTITY} generation: every row inserted on
+ * its own, its key read back before the next one. The current path persists the same orders through
+ * Hibernate, which batches them with ids drawn {@value Order#ID_ALLOCATION_SIZE} at a time.</p>
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderInsertBenchmarkTest {
+    private static final int ORDERS = 1_000;
+    private static final int LINES_PER_ORDER = 3;
+    private static final int RUNS = 3;
+
+    @Container
+    @ServiceConnection
+    static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private int clientId;
+    private int driverId;
+    private int vehicleId;
+    private int pizzaId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        clientId = insert("INSERT INTO clients (first_name, last_name, client_address, phone_number, amount) " +
+                "VALUES ('Jean', 'Dupont', '1 rue de la Paix', '+33600000000', 1000)");
+        driverId = insert("INSERT INTO delivery_drivers (first_name, last_name, phone_number) " +
+                "VALUES ('Marc', 'Livreur', '+33611111111')");
+        vehicleId = insert("INSERT INTO vehicles (vehicle_type, license_plate) VALUES ('CAR', 'AB-123-CD')");
+        pizzaId = insert("INSERT INTO pizzas (pizza_name, base_price) VALUES ('Reine', 12.50)");
+
+        // Keep the keys of the former path clear of the ids handed out by the sequences
+        jdbc.execute("ALTER TABLE orders AUTO_INCREMENT = 1000000000");
+        jdbc.execute("ALTER TABLE order_pizzas AUTO_INCREMENT = 1000000000");
+    }
+
+    @Test
+    void pooledIdsInsertOrdersFasterThanIdentityKeys() {
+        // Warm up the connection pool, the JIT and Hibernate
+        insertOneByOne(ORDERS / 5);
+        persistInBatches(ORDERS / 5);
+
+        long formerNanos = Long.MAX_VALUE;
+        long currentNanos = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            formerNanos = Math.min(formerNanos, time(() -> insertOneByOne(ORDERS)));
+            currentNanos = Math.min(currentNanos, time(() -> persistInBatches(ORDERS)));
+        }
+
+        log.info("Inserting {} orders of {} lines: {} orders/s with IDENTITY keys, {} orders/s with pooled ids",
+                ORDERS, LINES_PER_ORDER, throughput(formerNanos), throughput(currentNanos));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM order_pizzas", Long.class))
+                .isEqualTo((long) (ORDERS / 5 + ORDERS * RUNS) * 2 * LINES_PER_ORDER);
+        assertThat(currentNanos).isLessThan(formerNanos);
+    }
+
+    /**
+     * Statements of {@code IDENTITY} generation: one INSERT per row, each followed by reading its key.
+     */
+    private void insertOneByOne(int orders) {
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < orders; i++) {
+                int orderId = insert(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "INSERT INTO orders (client_id, driver_id, vehicle_id, order_date, order_status) " +
+                                    "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+                    statement.setInt(1, clientId);
+                    statement.setInt(2, driverId);
+                    statement.setInt(3, vehicleId);
+                    statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.setString(5, OrderStatus.PENDING.name());
+                    return statement;
+                });
+                for (int line = 0; line < LINES_PER_ORDER; line++) {
+                    insert(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                                "INSERT INTO order_pizzas (order_id, pizza_id, quantity, pizza_size, pizza_price, " +
+                                        "free_reason) VALUES (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+                        statement.setInt(1, orderId);
+                        statement.setInt(2, pizzaId);
+                        statement.setInt(3, 1);
+                        statement.setString(4, PizzaSize.HUMAINE.name());
+                        statement.setBigDecimal(5, new BigDecimal("12.50"));
+                        statement.setString(6, FreeReason.NOT_FREE.name());
+                        return statement;
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Current path: entities persisted and flushed by Hibernate at commit.
+     */
+    private void persistInBatches(int orders) {
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < orders; i++) {
+                Order order = new Order();
+                order.setClient(entityManager.getReference(Client.class, clientId));
+                order.setDriver(entityManager.getReference(DeliveryDriver.class, driverId));
+                order.setVehicle(entityManager.getReference(Vehicle.class, vehicleId));
+                order.setOrderStatus(OrderStatus.PENDING);
+                for (int line = 0; line < LINES_PER_ORDER; line++) {
+                    OrderPizza item = new OrderPizza();
+                    item.setPizza(entityManager.getReference(Pizza.class, pizzaId));
+                    item.setPizzaSize(PizzaSize.HUMAINE);
+                    item.setQuantity(1);
+                    item.setPizzaPrice(new BigDecimal("12.50"));
+                    item.setFreeReason(FreeReason.NOT_FREE);
+                    order.addOrderItem(item);
+                }
+                entityManager.persist(order);
+            }
+        });
+    }
+
+    private int insert(String sql) {
+        return insert(connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS));
+    }
+
+    private int insert(PreparedStatementCreator statement) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbc.update(statement, keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(long nanos) {
+        return ORDERS * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,162 @@
+package fr.rapizz.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with {@code EXPLAIN} that the order queries use the indexes of {@code V3__query_indexes.sql},
+ * on a throwaway MariaDB migrated by Flyway and filled with a history where most orders are delivered.
+ *
+ * <p>Each statement is the SQL of a repository query, with its parameters inlined.</p>
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryIndexTest {
+    private static final String STATUS_DATE = "idx_orders_status_date";
+    private static final String DATE_STATUS_DRIVER = "idx_orders_date_status_driver";
+    private static final String ORDER_PIZZA = "idx_order_pizzas_order_pizza";
+
+    @Container
+    @ServiceConnection
+    static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void fillHistory(@Autowired JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO clients (first_name, last_name, client_address, phone_number) " +
+                "SELECT 'Client', seq, 'Adresse', CONCAT('+336', LPAD(seq, 8, '0')) FROM seq_1_to_100");
+        jdbc.update("INSERT INTO delivery_drivers (first_name, last_name, phone_number) " +
+                "SELECT 'Livreur', seq, CONCAT('+337', LPAD(seq, 8, '0')) FROM seq_1_to_10");
+        jdbc.update("INSERT INTO vehicles (vehicle_type, license_plate) " +
+                "SELECT 'CAR', CONCAT('AA-', LPAD(seq, 3, '0'), '-AA') FROM seq_1_to_10");
+        jdbc.update("INSERT INTO pizzas (pizza_name, base_price) SELECT CONCAT('Pizza ', seq), 10 FROM seq_1_to_20");
+
+        // Two years of orders, one every ten minutes: 1% pending, 1% in progress, 3% canceled
+        jdbc.update("INSERT INTO orders (client_id, driver_id, vehicle_id, order_date, delivered_at, order_status) " +
+                "SELECT 1 + seq % 100, 1 + seq % 10, 1 + seq % 10, NOW() - INTERVAL seq * 10 MINUTE, " +
+                "IF(seq % 100 >= 5, NOW() - INTERVAL seq * 10 MINUTE + INTERVAL 20 MINUTE, NULL), " +
+                "CASE WHEN seq % 100 = 0 THEN 'PENDING' WHEN seq % 100 = 1 THEN 'IN_PROGRESS' " +
+                "WHEN seq % 100 < 5 THEN 'CANCELED' ELSE 'DELIVERED' END " +
+                "FROM seq_1_to_100000");
+        jdbc.update("INSERT INTO order_pizzas (order_id, pizza_id, quantity, pizza_size, pizza_price) " +
+                "SELECT order_id, 1 + (order_id + seq) % 20, seq, 'HUMAINE', 10 FROM orders, seq_1_to_2");
+        jdbc.execute("ANALYZE TABLE orders, order_pizzas");
+    }
+
+    @Test
+    void activeOrdersAreReadFromTheStatusIndex() {
+        // OrderRepository.findActiveOrders
+        assertUses("SELECT o.order_id, o.order_date FROM orders o " +
+                "WHERE o.order_status IN ('PENDING', 'IN_PROGRESS')", "o", STATUS_DATE);
+        // OrderRepository.findDriverIdsByStatus, read by the availability registry
+        assertUses("SELECT o.driver_id FROM orders o " +
+                "WHERE o.order_status = 'IN_PROGRESS' AND o.driver_id IS NOT NULL", "o", STATUS_DATE);
+    }
+
+    @Test
+    void orderPagesAreReadFromTheStatusIndex() {
+        // OrderRepository.findFirstPageIds
+        String firstPage = "SELECT o.order_id FROM orders o " +
+                "WHERE o.order_status IN ('PENDING', 'IN_PROGRESS') " +
+                "ORDER BY o.order_date DESC, o.order_id DESC LIMIT 51";
+        assertUses(firstPage, "o", STATUS_DATE);
+
+        // OrderRepository.findPageIdsAfter
+        String nextPage = "SELECT o.order_id FROM orders o " +
+                "WHERE o.order_status IN ('PENDING', 'IN_PROGRESS') " +
+                "AND (o.order_date < NOW() - INTERVAL 30 DAY " +
+                "OR (o.order_date = NOW() - INTERVAL 30 DAY AND o.order_id < 5000)) " +
+                "ORDER BY o.order_date DESC, o.order_id DESC LIMIT 51";
+        assertUses(nextPage, "o", STATUS_DATE);
+    }
+
+    @Test
+    void orderLinesAreReadByOrder() {
+        // OrderRepository.findLineViewsByOrderIds, also served by the foreign key index on order_id
+        assertUses("SELECT oi.order_id, p.pizza_name, oi.pizza_size, oi.quantity, oi.pizza_price, oi.free_reason " +
+                "FROM order_pizzas oi JOIN pizzas p ON p.pizza_id = oi.pizza_id " +
+                "WHERE oi.order_id IN (100, 200, 300) ORDER BY oi.order_item_id", "oi", ORDER_PIZZA, "order_id");
+    }
+
+    @Test
+    void statisticsRollupsAreRebuiltFromIndexesOnly() {
+        // DailyStatusCountRepository.rebuild
+        String statusCounts = "SELECT DATE(o.order_date), o.order_status, COUNT(*) FROM orders o " +
+                "GROUP BY DATE(o.order_date), o.order_status";
+        assertUses(statusCounts, "o", DATE_STATUS_DRIVER, STATUS_DATE);
+        assertCovered(statusCounts, "o");
+
+        // DailyDriverDeliveryRepository.rebuild: only this index holds driver_id
+        String driverDeliveries = "SELECT DATE(o.order_date), o.driver_id, COUNT(*) FROM orders o " +
+                "WHERE o.order_status = 'DELIVERED' AND o.driver_id IS NOT NULL " +
+                "GROUP BY DATE(o.order_date), o.driver_id";
+        assertUses(driverDeliveries, "o", DATE_STATUS_DRIVER);
+        assertCovered(driverDeliveries, "o");
+
+        // DailyRevenueRepository.rebuild
+        String revenue = "SELECT DATE(o.order_date), SUM(oi.pizza_price * oi.quantity) " +
+                "FROM orders o JOIN order_pizzas oi ON oi.order_id = o.order_id " +
+                "WHERE o.order_status <> 'CANCELED' GROUP BY DATE(o.order_date)";
+        assertUses(revenue, "oi", ORDER_PIZZA);
+        assertCovered(revenue, "oi");
+        assertNoFullScan(revenue);
+
+        // DailyPizzaCountRepository.rebuild
+        String pizzaCounts = "SELECT DATE(o.order_date), oi.pizza_id, COUNT(*) " +
+                "FROM order_pizzas oi JOIN orders o ON o.order_id = oi.order_id " +
+                "GROUP BY DATE(o.order_date), oi.pizza_id";
+        assertNoFullScan(pizzaCounts);
+    }
+
+    /**
+     * Asserts that the table of the given alias is read through one of the indexes, not scanned row by row.
+     */
+    private void assertUses(String sql, String alias, String... indexes) {
+        Map<String, Object> plan = planOf(sql, alias);
+        assertThat(plan.get("key")).as("index of %s in %s", alias, plan).isIn((Object[]) indexes);
+        assertThat(plan.get("type")).as("access to %s in %s", alias, plan).isNotEqualTo("ALL");
+    }
+
+    /**
+     * Asserts that the table of the given alias is answered from its index without reading its rows.
+     */
+    private void assertCovered(String sql, String alias) {
+        Map<String, Object> plan = planOf(sql, alias);
+        assertThat((String) plan.get("Extra")).as("access to %s in %s", alias, plan).contains("Using index");
+    }
+
+    private void assertNoFullScan(String sql) {
+        assertThat(explain(sql)).as("plan of %s", sql)
+                .noneMatch(row -> "ALL".equals(row.get("type")));
+    }
+
+    private Map<String, Object> planOf(String sql, String alias) {
+        return explain(sql).stream()
+                .filter(row -> alias.equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan for " + alias + " in " + sql));
+    }
+
+    private List<Map<String, Object>> explain(String sql) {
+        return jdbc.queryForList("EXPLAIN " + sql);
+    }
+}
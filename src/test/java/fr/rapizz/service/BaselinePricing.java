@@ -0,0 +1,160 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pricing code removed when {@link OrderPricing} replaced it, copied from the baseline commit
+ * without its logging: the oracle of the kernel tests, and the former path of its benchmark.
+ *
+ * <p>The loyalty lines are given as indices into the lines, as the former delivery form and
+ * controller tracked them; the form read them from its checkboxes.</p>
+ */
+final class BaselinePricing {
+    private BaselinePricing() {
+    }
+
+    /**
+     * {@code PizzaService.calculatePrice}: the exact product, not rounded to the cent.
+     */
+    static BigDecimal calculatePrice(Pizza pizza, PizzaSize size) {
+        BigDecimal basePrice = pizza.getBasePrice();
+
+        return switch (size) {
+            case NAINE -> basePrice.multiply(new BigDecimal("0.67"));
+            case HUMAINE -> basePrice;
+            case OGRESSE -> basePrice.multiply(new BigDecimal("1.33"));
+            default -> throw new IllegalArgumentException("Invalid pizza size");
+        };
+    }
+
+    /**
+     * {@code DeliveryController.createDelivery}: amount debited from the client.
+     */
+    static BigDecimal totalAmount(List<OrderPizza> pizzas, List<Integer> freePizzaIndices) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < pizzas.size(); i++) {
+            OrderPizza pizza = pizzas.get(i);
+            BigDecimal unitPrice = pizza.getPizzaPrice();
+            int quantity = pizza.getQuantity();
+
+            if (freePizzaIndices.contains(i)) {
+                if (quantity > 1) {
+                    BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
+                    totalAmount = totalAmount.add(remainingTotal);
+                }
+            } else {
+                BigDecimal pizzaTotal = unitPrice.multiply(new BigDecimal(quantity));
+                totalAmount = totalAmount.add(pizzaTotal);
+            }
+        }
+        return totalAmount;
+    }
+
+    /**
+     * {@code DeliveryController.createDelivery}: loyalty points deducted from the client.
+     */
+    static int requiredPoints(List<Integer> freePizzaIndices) {
+        return freePizzaIndices.size() * 10;
+    }
+
+    /**
+     * {@code DeliveryController.createDelivery}: loyalty points credited to the client.
+     */
+    static int pizzasBought(List<OrderPizza> pizzas, List<Integer> freePizzaIndices) {
+        int pizzasBought = 0;
+        for (int i = 0; i < pizzas.size(); i++) {
+            OrderPizza pizza = pizzas.get(i);
+            if (freePizzaIndices.contains(i)) {
+                if (pizza.getQuantity() > 1) {
+                    pizzasBought += (pizza.getQuantity() - 1);
+                }
+            } else {
+                pizzasBought += pizza.getQuantity();
+            }
+        }
+        return pizzasBought;
+    }
+
+    /**
+     * {@code DeliveryPanel.updateOrderSummary}: summary of the order being entered.
+     */
+    static Summary summary(List<OrderPizza> selectedPizzas, List<Integer> freePizzaIndices) {
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        BigDecimal loyaltyDiscount = BigDecimal.ZERO;
+        int freePizzasUsed = 0;
+
+        for (int i = 0; i < selectedPizzas.size(); i++) {
+            OrderPizza pizza = selectedPizzas.get(i);
+            BigDecimal unitPrice = pizza.getPizzaPrice();
+            int quantity = pizza.getQuantity();
+
+            if (freePizzaIndices.contains(i)) {
+                loyaltyDiscount = loyaltyDiscount.add(unitPrice);
+                freePizzasUsed++;
+
+                if (quantity > 1) {
+                    BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
+                    totalPrice = totalPrice.add(remainingTotal);
+                }
+            } else {
+                BigDecimal pizzaTotal = unitPrice.multiply(new BigDecimal(quantity));
+                totalPrice = totalPrice.add(pizzaTotal);
+            }
+        }
+        return new Summary(totalPrice, loyaltyDiscount, freePizzasUsed);
+    }
+
+    /**
+     * {@code OrderService.calculateOrderTotal}: amount shown on the order cards.
+     */
+    static double calculateOrderTotal(Order order) {
+        boolean hasLateDeliveryCompensation = order.getOrderItems().stream()
+                .anyMatch(item -> item.getFreeReason() == FreeReason.LATE_DELIVERY);
+
+        if (hasLateDeliveryCompensation) {
+            return 0.0;
+        }
+
+        return order.getOrderItems().stream()
+                .mapToDouble(item -> {
+                    BigDecimal unitPrice = item.getPizzaPrice();
+                    int quantity = item.getQuantity();
+
+                    if (item.getFreeReason() == FreeReason.LOYALTY) {
+                        if (quantity > 1) {
+                            BigDecimal remainingTotal = unitPrice.multiply(new BigDecimal(quantity - 1));
+                            return remainingTotal.doubleValue();
+                        } else {
+                            return 0.0;
+                        }
+                    } else {
+                        return unitPrice.doubleValue() * quantity;
+                    }
+                })
+                .sum();
+    }
+
+    /**
+     * @return The indices of the lines having one pizza paid with loyalty points
+     */
+    static List<Integer> freePizzaIndices(List<OrderPizza> pizzas) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < pizzas.size(); i++) {
+            if (pizzas.get(i).getFreeReason() == FreeReason.LOYALTY) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    record Summary(BigDecimal totalPrice, BigDecimal loyaltyDiscount, int freePizzasUsed) {
+    }
+}
@@ -0,0 +1,98 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices the same orders with the kernel and with the {@link BaselinePricing} code it replaced.
+ * Run {@link #main} (e.g. from the IDE, after {@code mvn test-compile}); the GC profiler reports
+ * the bytes allocated per operation next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+    @Param({"3", "20"})
+    private int lines;
+
+    private Order order;
+    private List<OrderPizza> pizzas;
+    private List<Integer> freePizzaIndices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        order = new Order();
+        for (int i = 0; i < lines; i++) {
+            OrderPizza item = new OrderPizza();
+            item.setPizzaPrice(BigDecimal.valueOf(500 + random.nextInt(2_000), 2));
+            item.setQuantity(1 + random.nextInt(4));
+            item.setFreeReason(i % 5 == 0 ? FreeReason.LOYALTY : FreeReason.NOT_FREE);
+            order.addOrderItem(item);
+        }
+        pizzas = order.getOrderItems();
+        freePizzaIndices = BaselinePricing.freePizzaIndices(pizzas);
+    }
+
+    /**
+     * Former order placement: amount, points spent and points earned, in BigDecimal.
+     */
+    @Benchmark
+    public void formerPlacement(Blackhole blackhole) {
+        blackhole.consume(BaselinePricing.totalAmount(pizzas, freePizzaIndices));
+        blackhole.consume(BaselinePricing.requiredPoints(freePizzaIndices));
+        blackhole.consume(BaselinePricing.pizzasBought(pizzas, freePizzaIndices));
+    }
+
+    /**
+     * Former order card total, in double with a BigDecimal per loyalty line.
+     */
+    @Benchmark
+    public double formerOrderTotal() {
+        return BaselinePricing.calculateOrderTotal(order);
+    }
+
+    /**
+     * Kernel: amount, points spent and points earned in one pass.
+     */
+    @Benchmark
+    public void kernel(Blackhole blackhole) {
+        OrderPricing pricing = OrderPricing.of(order);
+        blackhole.consume(pricing.total().cents());
+        blackhole.consume(pricing.pointsSpent());
+        blackhole.consume(pricing.pointsEarned());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPricingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,239 @@
+package fr.rapizz.service;
+
+import fr.rapizz.model.FreeReason;
+import fr.rapizz.model.Money;
+import fr.rapizz.model.Order;
+import fr.rapizz.model.OrderPizza;
+import fr.rapizz.model.Pizza;
+import fr.rapizz.model.PizzaSize;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the cents kernel against worked examples, and against the {@link BaselinePricing} code it
+ * replaced on random orders.
+ */
+class OrderPricingTest {
+    private static final FreeReason[] FREE_REASONS = FreeReason.values();
+    private static final int ORDERS = 10_000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void pricesAWorkedExample() {
+        Order order = order(
+                line("12.50", 2, FreeReason.NOT_FREE),
+                line("9.99", 3, FreeReason.LOYALTY),
+                line("16.63", 1, FreeReason.NOT_FREE));
+        OrderPricing pricing = OrderPricing.of(order);
+
+        // 2 x 12.50 + 2 x 9.99 + 16.63, the third 9.99 paid with points
+        assertThat(pricing.total()).isEqualTo(Money.ofCents(6161));
+        assertThat(pricing.loyaltyDiscount()).isEqualTo(Money.ofCents(999));
+        assertThat(pricing.subtotal()).isEqualTo(Money.ofCents(7160));
+        assertThat(pricing.freePizzas()).isEqualTo(1);
+        assertThat(pricing.pointsSpent()).isEqualTo(10);
+        assertThat(pricing.pointsEarned()).isEqualTo(5);
+    }
+
+    @Test
+    void aSinglePizzaPaidWithPointsCostsNothing() {
+        OrderPricing pricing = OrderPricing.of(order(line("11.00", 1, FreeReason.LOYALTY)));
+
+        assertThat(pricing.total()).isEqualTo(Money.ZERO);
+        assertThat(pricing.loyaltyDiscount()).isEqualTo(Money.ofCents(1100));
+        assertThat(pricing.pointsSpent()).isEqualTo(10);
+        assertThat(pricing.pointsEarned()).isZero();
+    }
+
+    @Test
+    void anOrderRefundedForALateDeliveryCostsNothing() {
+        OrderPricing pricing = OrderPricing.of(order(
+                line("12.50", 2, FreeReason.LATE_DELIVERY),
+                line("9.99", 1, FreeReason.LATE_DELIVERY)));
+
+        assertThat(pricing.total()).isEqualTo(Money.ZERO);
+        assertThat(pricing.pointsEarned()).isZero();
+    }
+
+    @Test
+    void chargesLikeTheFormerOrderPlacement() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = randomOrder(FreeReason.NOT_FREE, FreeReason.LOYALTY);
+            List<OrderPizza> lines = order.getOrderItems();
+            List<Integer> freePizzaIndices = BaselinePricing.freePizzaIndices(lines);
+            OrderPricing pricing = OrderPricing.of(order);
+
+            assertThat(pricing.total().toBigDecimal()).as("total of %s", lines)
+                    .isEqualByComparingTo(BaselinePricing.totalAmount(lines, freePizzaIndices));
+            assertThat(pricing.pointsSpent()).as("points spent of %s", lines)
+                    .isEqualTo(BaselinePricing.requiredPoints(freePizzaIndices));
+            assertThat(pricing.pointsEarned()).as("points earned of %s", lines)
+                    .isEqualTo(BaselinePricing.pizzasBought(lines, freePizzaIndices));
+        }
+    }
+
+    @Test
+    void summarizesLikeTheFormerDeliveryForm() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = randomOrder(FreeReason.NOT_FREE, FreeReason.LOYALTY);
+            List<OrderPizza> lines = order.getOrderItems();
+            BaselinePricing.Summary summary = BaselinePricing.summary(lines, BaselinePricing.freePizzaIndices(lines));
+            OrderPricing pricing = OrderPricing.of(order);
+
+            assertThat(pricing.total().toBigDecimal()).as("total of %s", lines)
+                    .isEqualByComparingTo(summary.totalPrice());
+            assertThat(pricing.loyaltyDiscount().toBigDecimal()).as("loyalty discount of %s", lines)
+                    .isEqualByComparingTo(summary.loyaltyDiscount());
+            assertThat(pricing.subtotal().toBigDecimal()).as("subtotal of %s", lines)
+                    .isEqualByComparingTo(summary.totalPrice().add(summary.loyaltyDiscount()));
+            assertThat(pricing.freePizzas()).as("free pizzas of %s", lines)
+                    .isEqualTo(summary.freePizzasUsed());
+        }
+    }
+
+    @Test
+    void totalsOrdersLikeTheFormerOrderCards() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = randomOrder(FREE_REASONS);
+            double total = OrderPricing.of(order).total().toBigDecimal().doubleValue();
+
+            // The former total was a double: equal up to its rounding errors, far below a cent
+            assertThat(total).as("total of %s", order.getOrderItems())
+                    .isCloseTo(BaselinePricing.calculateOrderTotal(order), within(1e-6));
+        }
+    }
+
+    /**
+     * The former placement charged the exact product of the base price and the size factor, while
+     * the order lines stored it rounded to the cent by their {@code DECIMAL(5, 2)} column. The
+     * kernel charges the rounded price: the sum of the stored lines.
+     */
+    @Test
+    void chargesTheStoredSizePriceWhereTheFormerPlacementChargedTheExactProduct() {
+        Pizza pizza = new Pizza();
+        pizza.setBasePrice(new BigDecimal("12.50"));
+        OrderPizza exact = line("0", 2, FreeReason.NOT_FREE);
+        exact.setPizzaPrice(BaselinePricing.calculatePrice(pizza, PizzaSize.OGRESSE));
+
+        assertThat(exact.getPizzaPrice()).isEqualByComparingTo("16.625");
+        assertThat(BaselinePricing.totalAmount(List.of(exact), List.of())).isEqualByComparingTo("33.25");
+
+        OrderPizza stored = line("0", 2, FreeReason.NOT_FREE);
+        stored.setPizzaPrice(PizzaSize.OGRESSE.priceFor(pizza.getBasePrice()));
+
+        assertThat(OrderPricing.of(order(stored)).total()).isEqualTo(Money.ofCents(3326));
+    }
+
+    @Test
+    void differsFromTheFormerExactSizePricesByAtMostHalfACentPerPizza() {
+        for (int i = 0; i < ORDERS; i++) {
+            Pizza pizza = new Pizza();
+            pizza.setBasePrice(BigDecimal.valueOf(random.nextInt(75_000), 2));
+            PizzaSize size = PizzaSize.values()[random.nextInt(PizzaSize.values().length)];
+            int quantity = 1 + random.nextInt(10);
+
+            OrderPizza exact = line("0", quantity, FreeReason.NOT_FREE);
+            exact.setPizzaPrice(BaselinePricing.calculatePrice(pizza, size));
+            OrderPizza stored = line("0", quantity, FreeReason.NOT_FREE);
+            stored.setPizzaPrice(size.priceFor(pizza.getBasePrice()));
+
+            BigDecimal difference = OrderPricing.of(order(stored)).total().toBigDecimal()
+                    .subtract(BaselinePricing.totalAmount(List.of(exact), List.of()));
+            assertThat(difference.abs()).as("%s %s x%d", pizza.getBasePrice(), size, quantity)
+                    .isLessThanOrEqualTo(new BigDecimal("0.005").multiply(BigDecimal.valueOf(quantity)));
+        }
+    }
+
+    @Test
+    void removingLinesRestoresThePricing() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = randomOrder(FREE_REASONS);
+            OrderPricing pricing = OrderPricing.of(order);
+            for (OrderPizza item : order.getOrderItems()) {
+                pricing.remove(item.getPizzaPriceCents(), item.getQuantity(), item.getFreeReason());
+            }
+
+            assertThat(pricing.total()).isEqualTo(Money.ZERO);
+            assertThat(pricing.loyaltyDiscount()).isEqualTo(Money.ZERO);
+            assertThat(pricing.pointsSpent()).isZero();
+            assertThat(pricing.pointsEarned()).isZero();
+        }
+    }
+
+    @Test
+    void cartTotalsMatchThePricingOfItsLines() {
+        Cart cart = new Cart();
+        List<OrderPizza> lines = new ArrayList<>();
+
+        for (int i = 0; i < ORDERS; i++) {
+            int operation = lines.isEmpty() ? 0 : random.nextInt(3);
+            switch (operation) {
+                case 0 -> lines.add(cart.add(new Pizza(), PizzaSize.HUMAINE, 1 + random.nextInt(5), randomCents()));
+                case 1 -> cart.remove(lines.remove(random.nextInt(lines.size())));
+                default -> cart.setLoyalty(lines.get(random.nextInt(lines.size())), random.nextBoolean());
+            }
+
+            Order order = new Order();
+            cart.getLines().forEach(line -> order.addOrderItem(copyOf(line)));
+            OrderPricing pricing = OrderPricing.of(order);
+
+            assertThat(cart.total()).isEqualTo(pricing.total());
+            assertThat(cart.subtotal()).isEqualTo(pricing.subtotal());
+            assertThat(cart.freePizzas()).isEqualTo(pricing.freePizzas());
+            assertThat(cart.pointsRequired()).isEqualTo(pricing.pointsSpent());
+            assertThat(cart.pointsEarned()).isEqualTo(pricing.pointsEarned());
+        }
+    }
+
+    private Order randomOrder(FreeReason... freeReasons) {
+        Order order = new Order();
+        int lines = 1 + random.nextInt(8);
+        for (int i = 0; i < lines; i++) {
+            OrderPizza item = new OrderPizza();
+            item.setPizzaPrice(BigDecimal.valueOf(randomCents(), 2));
+            item.setQuantity(1 + random.nextInt(10));
+            item.setFreeReason(freeReasons[random.nextInt(freeReasons.length)]);
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    /**
+     * @return A price fitting the {@code DECIMAL(5, 2)} column of order lines
+     */
+    private long randomCents() {
+        return random.nextInt(100_000);
+    }
+
+    private static Order order(OrderPizza... lines) {
+        Order order = new Order();
+        for (OrderPizza line : lines) {
+            order.addOrderItem(line);
+        }
+        return order;
+    }
+
+    private static OrderPizza line(String unitPrice, int quantity, FreeReason freeReason) {
+        OrderPizza line = new OrderPizza();
+        line.setPizzaPrice(new BigDecimal(unitPrice));
+        line.setQuantity(quantity);
+        line.setFreeReason(freeReason);
+        return line;
+    }
+
+    private static OrderPizza copyOf(OrderPizza line) {
+        OrderPizza copy = new OrderPizza();
+        copy.setPizzaPrice(line.getPizzaPrice());
+        copy.setQuantity(line.getQuantity());
+        copy.setFreeReason(line.getFreeReason());
+        return copy;
+    }
+}